@@ -0,0 +1,84 @@
+package graph;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import graph.topo.TopologicalSort;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+
+public class CompareDAGPathModes {
+
+    public static void main(String[] args) {
+        System.out.println("=".repeat(80));
+        System.out.println("COMPARISON: Sequential vs Level-Parallel DAG Path DP");
+        System.out.println("=".repeat(80));
+        System.out.println();
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println();
+
+        testGraph("Wide DAG (50 levels x 20000)", createLayeredDAG(50, 20_000, 4, 1));
+        testGraph("Wide DAG (20 levels x 100000)", createLayeredDAG(20, 100_000, 4, 2));
+        testGraph("Narrow DAG (2000 levels x 100)", createLayeredDAG(2_000, 100, 4, 3));
+    }
+
+    private static void testGraph(String name, Graph g) {
+        System.out.println("Testing: " + name);
+        System.out.println("-".repeat(80));
+
+        List<Integer> order = new TopologicalSort(g).getOrder();
+        int source = g.getSource();
+
+        // Warm up both modes so the JIT does not distort the first measurement
+        for (int i = 0; i < 3; i++) {
+            new DAGShortestPath(g, source, order, false);
+            new DAGShortestPath(g, source, order, true);
+            new DAGLongestPath(g, order, false);
+            new DAGLongestPath(g, order, true);
+        }
+
+        DAGShortestPath spSeq = new DAGShortestPath(g, source, order, false);
+        DAGShortestPath spPar = new DAGShortestPath(g, source, order, true);
+        DAGLongestPath lpSeq = new DAGLongestPath(g, order, false);
+        DAGLongestPath lpPar = new DAGLongestPath(g, order, true);
+
+        boolean spMatch = Arrays.equals(spSeq.getAllDistances(), spPar.getAllDistances());
+        for (int v = 0; spMatch && v < g.getN(); v++) {
+            spMatch = spSeq.getPath(v).equals(spPar.getPath(v));
+        }
+        boolean lpMatch = lpSeq.getCriticalLength() == lpPar.getCriticalLength()
+                && lpSeq.getCriticalPath().equals(lpPar.getCriticalPath());
+
+        printRow("Shortest", spSeq.getMetrics().getExecutionTime(), spPar.getMetrics().getExecutionTime(), spMatch);
+        printRow("Longest", lpSeq.getMetrics().getExecutionTime(), lpPar.getMetrics().getExecutionTime(), lpMatch);
+
+        System.out.println("\n" + "=".repeat(80) + "\n");
+    }
+
+    private static void printRow(String label, double seqTime, double parTime, boolean match) {
+        System.out.println("  " + label + ": sequential " + String.format("%.3f ms", seqTime)
+                + ", parallel " + String.format("%.3f ms", parTime)
+                + ", speedup " + String.format("%.2fx", seqTime / parTime)
+                + ", identical: " + (match ? "YES" : "NO"));
+    }
+
+    /**
+     * Layered DAG: every vertex of a level gets edges from random vertices of the previous level
+     */
+    private static Graph createLayeredDAG(int levels, int width, int inDegree, long seed) {
+        Random random = new Random(seed);
+        Graph g = new Graph(levels * width, true);
+        for (int k = 1; k < levels; k++) {
+            for (int i = 0; i < width; i++) {
+                int v = k * width + i;
+                for (int j = 0; j < inDegree; j++) {
+                    int u = (k - 1) * width + random.nextInt(width);
+                    g.addEdge(u, v, random.nextInt(10) + 1);
+                }
+            }
+        }
+        return g;
+    }
+}
@@ -2,6 +2,8 @@ package graph;
 
 import graph.scc.TarjanSCC;
 import graph.scc.KosarajuSCC;
+import graph.scc.PearceSCC;
+import java.util.Arrays;
 
 
 public class CompareSCCAlgorithms {
@@ -55,8 +57,17 @@ public class CompareSCCAlgorithms {
         System.out.println("  Metrics: " + kosaraju.getMetrics());
         System.out.println();
 
+        // Run Pearce (memory-lean)
+        System.out.println("📊 PEARCE'S ALGORITHM:");
+        PearceSCC pearce = new PearceSCC(g);
+        System.out.println("  SCCs found: " + pearce.getComponents().size());
+        System.out.println("  Metrics: " + pearce.getMetrics());
+        System.out.println("  Working memory: " + String.format("%.1f bytes/vertex", pearce.getWorkingBytesPerVertex()));
+        System.out.println();
+
         // Verify results match
-        boolean match = tarjan.getComponents().size() == kosaraju.getComponents().size();
+        boolean match = tarjan.getComponents().size() == kosaraju.getComponents().size()
+                && Arrays.equals(tarjan.getNodeToComponent(), pearce.getNodeToComponent());
         System.out.println("✓ Results match: " + (match ? "YES" : "NO"));
 
         // Compare performance
@@ -68,6 +79,10 @@ public class CompareSCCAlgorithms {
         System.out.println("⚡ Performance:");
         System.out.println("  Tarjan:   " + String.format("%.3f ms", tarjanTime));
         System.out.println("  Kosaraju: " + String.format("%.3f ms", kosarajuTime));
+        System.out.println("  Pearce:   " + String.format("%.3f ms", pearce.getMetrics().getExecutionTime()));
+        System.out.println("  Allocated per vertex: " + String.format("Tarjan %.1f B, Pearce %.1f B",
+                (double) tarjan.getMetrics().getAllocatedBytes() / g.getN(),
+                (double) pearce.getMetrics().getAllocatedBytes() / g.getN()));
         System.out.println("  Faster: " + faster + " (" + String.format("%.2fx", speedup) + ")");
 
         System.out.println("\n" + "=".repeat(80) + "\n");
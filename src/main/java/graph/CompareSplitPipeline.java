@@ -0,0 +1,130 @@
+package graph;
+
+import graph.cc.SplitPipeline;
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+
+import java.util.Arrays;
+import java.util.Random;
+
+
+public class CompareSplitPipeline {
+
+    public static void main(String[] args) {
+        System.out.println("=".repeat(80));
+        System.out.println("COMPARISON: Monolithic vs Weak-Component Split Pipeline");
+        System.out.println("=".repeat(80));
+        System.out.println();
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println();
+
+        testGraph("Districts DAG (200 parts x 1000)", createDistricts(200, 1_000, true, 1));
+        testGraph("Districts with cycles (200 parts x 1000)", createDistricts(200, 1_000, false, 2));
+        testGraph("Single part DAG (100000)", createDistricts(1, 100_000, true, 3));
+
+        for (String dataset : new String[]{"data/tasks.json", "data/large_dag_1.json", "data/large_mixed_1.json"}) {
+            try {
+                testGraph(dataset, Graph.fromJSON(dataset));
+            } catch (Exception e) {
+                System.out.println("Note: " + dataset + " not found, skipping file test\n");
+            }
+        }
+    }
+
+    private static void testGraph(String name, Graph g) {
+        System.out.println("Testing: " + name);
+        System.out.println("-".repeat(80));
+
+        long startTime = System.nanoTime();
+        TarjanSCC tarjan = new TarjanSCC(g);
+        Graph condensation = tarjan.buildCondensation();
+        TopologicalSort topo = new TopologicalSort(g);
+        DAGShortestPath sp = null;
+        DAGLongestPath lp = null;
+        if (topo.isDAG()) {
+            sp = new DAGShortestPath(g, g.getSource(), topo.getOrder());
+            lp = new DAGLongestPath(g, topo.getOrder());
+        }
+        double monolithicTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        startTime = System.nanoTime();
+        SplitPipeline split = new SplitPipeline(g, true);
+        double splitTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        boolean sccMatch = Arrays.equals(tarjan.getNodeToComponent(), split.getComponents().getComponentOf());
+        boolean orderValid = isTopologicalOrder(condensation, split.getCondensationOrder());
+        boolean dagMatch = topo.isDAG() == split.isDAG();
+        boolean pathMatch = true;
+        if (sp != null) {
+            pathMatch = split.hasShortestPaths()
+                    && Arrays.equals(sp.getAllDistances(), split.getAllDistances())
+                    && lp.getCriticalLength() == split.getCriticalLength()
+                    && lp.getCriticalPath().equals(split.getCriticalPath());
+            for (int v = 0; pathMatch && v < g.getN(); v++) {
+                pathMatch = sp.getParent(v) == split.getParent(v);
+            }
+        }
+
+        System.out.println("  Weak components: " + split.getWeakComponents().getComponentCount()
+                + ", SCCs: " + split.getComponents().getComponentCount() + ", DAG: " + topo.isDAG());
+        System.out.println("  SCCs identical: " + (sccMatch ? "YES" : "NO")
+                + ", condensation order valid: " + (orderValid && dagMatch ? "YES" : "NO")
+                + ", paths identical: " + (sp == null ? "n/a (cyclic)" : pathMatch ? "YES" : "NO"));
+        System.out.println("  Monolithic " + String.format("%.3f ms", monolithicTime)
+                + ", split " + String.format("%.3f ms", splitTime)
+                + String.format(" (split step %.3f ms)", split.getWeakComponents().getMetrics().getExecutionTime()));
+
+        System.out.println("\n" + "=".repeat(80) + "\n");
+    }
+
+    private static boolean isTopologicalOrder(Graph dag, int[] order) {
+        if (order.length != dag.getN()) {
+            return false;
+        }
+        int[] pos = new int[dag.getN()];
+        Arrays.fill(pos, -1);
+        for (int i = 0; i < order.length; i++) {
+            if (pos[order[i]] != -1) {
+                return false;
+            }
+            pos[order[i]] = i;
+        }
+        for (int u = 0; u < dag.getN(); u++) {
+            for (Graph.Edge edge : dag.getAdjList()[u]) {
+                if (pos[u] >= pos[edge.to]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Independent districts of consecutive vertices; with acyclic = true every edge
+     * points to a higher id, otherwise some edges point back and close cycles
+     */
+    private static Graph createDistricts(int parts, int size, boolean acyclic, long seed) {
+        Random random = new Random(seed);
+        Graph g = new Graph(parts * size, true);
+        for (int p = 0; p < parts; p++) {
+            int base = p * size;
+            for (int i = 0; i < 3 * size; i++) {
+                int u = base + random.nextInt(size);
+                int v = base + random.nextInt(size);
+                if (u == v) {
+                    continue;
+                }
+                if (acyclic && u > v) {
+                    int t = u;
+                    u = v;
+                    v = t;
+                }
+                g.addEdge(u, v, random.nextInt(10) + 1);
+            }
+        }
+        g.setSource(0);
+        return g;
+    }
+}
@@ -20,9 +20,13 @@ public class Graph {
         this.weightModel = weightModel;
     }
 
+    /**
+     * Immutable, so adjacency lists can be shared between graphs (VersionedGraph views);
+     * a weight change replaces the Edge in its list
+     */
     public static class Edge {
-        public int to;
-        public int weight;
+        public final int to;
+        public final int weight;
 
         public Edge(int to, int weight) {
             this.to = to;
@@ -30,6 +34,18 @@ public class Graph {
         }
     }
 
+    /**
+     * How compact() combines the weights of parallel edges
+     */
+    public enum MergePolicy {
+        MIN_WEIGHT, // keeps shortest-path distances unchanged
+        MAX_WEIGHT; // keeps longest-path distances unchanged
+
+        int merge(int a, int b) {
+            return this == MIN_WEIGHT ? Math.min(a, b) : Math.max(a, b);
+        }
+    }
+
     public static class GraphData {
         public boolean directed;
         public int n;
@@ -54,6 +70,15 @@ public class Graph {
         }
     }
 
+    /**
+     * Wrap existing adjacency lists without copying, used for VersionedGraph views
+     */
+    Graph(int n, boolean directed, List<Edge>[] adjList) {
+        this.n = n;
+        this.directed = directed;
+        this.adjList = adjList;
+    }
+
     /**
      * Load graph from JSON file
      */
@@ -72,8 +97,134 @@ public class Graph {
         return g;
     }
 
+    /**
+     * Add u -> v; an undirected graph also gets v -> u (a self-loop is stored once)
+     */
     public void addEdge(int u, int v, int weight) {
         adjList[u].add(new Edge(v, weight));
+        if (!directed && u != v) {
+            adjList[v].add(new Edge(u, weight));
+        }
+    }
+
+    /**
+     * Add u -> v only, whatever the directed flag. For replaying adjacency lists
+     * that already hold both directions of undirected edges.
+     */
+    public void addArc(int u, int v, int weight) {
+        adjList[u].add(new Edge(v, weight));
+    }
+
+    /**
+     * First edge u -> v, or null if there is none
+     */
+    public Edge findEdge(int u, int v) {
+        for (Edge edge : adjList[u]) {
+            if (edge.to == v) {
+                return edge;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove the first edge u -> v (and its v -> u twin if undirected).
+     * Returns the removed edge, or null if there was none
+     */
+    public Edge removeEdge(int u, int v) {
+        Edge removed = removeArc(u, v);
+        if (removed != null && !directed && u != v) {
+            removeArc(v, u);
+        }
+        return removed;
+    }
+
+    private Edge removeArc(int u, int v) {
+        Iterator<Edge> it = adjList[u].iterator();
+        while (it.hasNext()) {
+            Edge edge = it.next();
+            if (edge.to == v) {
+                it.remove();
+                return edge;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Change the weight of the first edge u -> v. Returns false if there is no such edge
+     */
+    public boolean setEdgeWeight(int u, int v, int weight) {
+        if (!setArcWeight(u, v, weight)) {
+            return false;
+        }
+        if (!directed && u != v) {
+            setArcWeight(v, u, weight);
+        }
+        return true;
+    }
+
+    private boolean setArcWeight(int u, int v, int weight) {
+        ListIterator<Edge> it = adjList[u].listIterator();
+        while (it.hasNext()) {
+            if (it.next().to == v) {
+                it.set(new Edge(v, weight));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finalization step: sort every adjacency list by target, merge parallel edges
+     * under the given policy and optionally drop self-loops.
+     * Returns the number of edges removed.
+     */
+    public int compact(MergePolicy policy, boolean dropSelfLoops) {
+        int removed = 0;
+        for (int u = 0; u < n; u++) {
+            List<Edge> edges = adjList[u];
+            edges.sort(Comparator.comparingInt(e -> e.to));
+
+            List<Edge> merged = new ArrayList<>(edges.size());
+            for (Edge edge : edges) {
+                if (dropSelfLoops && edge.to == u) {
+                    removed++;
+                    continue;
+                }
+                Edge last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                if (last != null && last.to == edge.to) {
+                    merged.set(merged.size() - 1, new Edge(last.to, policy.merge(last.weight, edge.weight)));
+                    removed++;
+                } else {
+                    merged.add(edge);
+                }
+            }
+            adjList[u] = merged;
+        }
+        return removed;
+    }
+
+    /**
+     * Deep copy, so one graph can be compacted under different policies
+     */
+    public Graph copy() {
+        Graph g = new Graph(n, directed);
+        g.source = source;
+        g.weightModel = weightModel;
+        for (int u = 0; u < n; u++) {
+            for (Edge edge : adjList[u]) {
+                g.addArc(u, edge.to, edge.weight);
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Install a finished adjacency list, used by GraphBuilder and VersionedGraph
+     */
+    void setAdjacency(int u, List<Edge> edges) {
+        adjList[u] = edges;
     }
 
     public List<Edge>[] getAdjList() {
@@ -84,66 +235,100 @@ public class Graph {
         return n;
     }
 
+    public int getEdgeCount() {
+        int m = 0;
+        for (List<Edge> edges : adjList) {
+            m += edges.size();
+        }
+        return m;
+    }
+
     public int getSource() {
         return source;
     }
 
+    public void setSource(int source) {
+        this.source = source;
+    }
+
     public boolean isDirected() {
         return directed;
     }
 
     /**
-     * Main method for testing
+     * Main method for testing. An optional argument names an NDJSON file that
+     * receives the full results through the streaming ResultWriter.
      */
     public static void main(String[] args) {
         try {
             // Load graph
             Graph g = Graph.fromJSON("data/tasks.json");
-            System.out.println("Graph loaded: " + g.getN() + " vertices");
-
-            // Run SCC
-            graph.scc.TarjanSCC scc = new graph.scc.TarjanSCC(g);
-            System.out.println("\n=== SCC Results ===");
-            System.out.println("Number of SCCs: " + scc.getComponents().size());
-            for (int i = 0; i < scc.getComponents().size(); i++) {
-                System.out.println("SCC " + i + ": " + scc.getComponents().get(i));
-            }
-            System.out.println("SCC Metrics: " + scc.getMetrics());
-
-            // Build condensation
-            Graph condensation = scc.buildCondensation();
-            System.out.println("\n=== Condensation Graph ===");
-            System.out.println("Nodes: " + condensation.getN());
-
-            // Topological sort
-            graph.topo.TopologicalSort topo = new graph.topo.TopologicalSort(condensation);
-            System.out.println("\n=== Topological Order ===");
-            System.out.println("Order: " + topo.getOrder());
-            System.out.println("Topo Metrics: " + topo.getMetrics());
-
-            // Check if original graph is DAG
-            if (scc.getComponents().size() == g.getN()) {
-                System.out.println("\n=== DAG Shortest/Longest Paths ===");
-                graph.topo.TopologicalSort graphTopo = new graph.topo.TopologicalSort(g);
-
-                // Shortest paths
-                graph.dagsp.DAGShortestPath sp = new graph.dagsp.DAGShortestPath(g, g.getSource(), graphTopo.getOrder());
-                System.out.println("Shortest distances from source " + g.getSource() + ":");
-                for (int i = 0; i < g.getN(); i++) {
-                    if (sp.getDistance(i) != Integer.MAX_VALUE) {
-                        System.out.println("  Node " + i + ": " + sp.getDistance(i) +
-                                " Path: " + sp.getPath(i));
+            // Closed on every path, so an exception still flushes what was written
+            try (graph.util.ResultWriter out = args.length > 0
+                    ? new graph.util.ResultWriter(args[0], graph.util.ResultWriter.Format.NDJSON)
+                    : null) {
+                System.out.println("Graph loaded: " + g.getN() + " vertices");
+
+                // Run SCC
+                graph.scc.TarjanSCC scc = new graph.scc.TarjanSCC(g);
+                System.out.println("\n=== SCC Results ===");
+                graph.scc.ComponentResult components = scc.getResult();
+                int[] offsets = components.getOffsets();
+                System.out.println("Number of SCCs: " + components.getComponentCount());
+                for (int i = 0; i < components.getComponentCount(); i++) {
+                    System.out.println("SCC " + i + ": "
+                            + Arrays.toString(Arrays.copyOfRange(components.getMembers(), offsets[i], offsets[i + 1])));
+                }
+                System.out.println("SCC Metrics: " + scc.getMetrics());
+
+                // Build condensation
+                Graph condensation = scc.buildCondensation();
+                System.out.println("\n=== Condensation Graph ===");
+                System.out.println("Nodes: " + condensation.getN());
+
+                // Topological sort
+                graph.topo.TopologicalSort topo = new graph.topo.TopologicalSort(condensation);
+                System.out.println("\n=== Topological Order ===");
+                System.out.println("Order: " + topo.getOrder());
+                System.out.println("Topo Metrics: " + topo.getMetrics());
+
+                if (out != null) {
+                    out.writeComponents(components);
+                    out.writeOrder("condensation_topo", topo.getOrder());
+                }
+
+                // Check if original graph is DAG
+                if (components.getComponentCount() == g.getN()) {
+                    System.out.println("\n=== DAG Shortest/Longest Paths ===");
+                    graph.topo.TopologicalSort graphTopo = new graph.topo.TopologicalSort(g);
+
+                    // Shortest paths
+                    graph.dagsp.DAGShortestPath sp = new graph.dagsp.DAGShortestPath(g, g.getSource(), graphTopo.getOrder());
+                    System.out.println("Shortest distances from source " + g.getSource() + ":");
+                    for (int i = 0; i < g.getN(); i++) {
+                        if (sp.getDistance(i) != Integer.MAX_VALUE) {
+                            System.out.println("  Node " + i + ": " + sp.getDistance(i) +
+                                    " Path: " + sp.getPath(i));
+                        }
                     }
+                    System.out.println("SP Metrics: " + sp.getMetrics());
+
+                    // Longest path
+                    graph.dagsp.DAGLongestPath lp = new graph.dagsp.DAGLongestPath(g, graphTopo.getOrder());
+                    System.out.println("\nCritical Path: " + lp.getCriticalPath());
+                    System.out.println("Critical Length: " + lp.getCriticalLength());
+                    System.out.println("LP Metrics: " + lp.getMetrics());
+
+                    if (out != null) {
+                        out.writeDistances("shortest_from_" + g.getSource(), sp.getAllDistances(), Integer.MAX_VALUE);
+                        out.writePath("critical_path", lp.getCriticalPath(), lp.getCriticalLength());
+                    }
+                } else {
+                    System.out.println("\nGraph has cycles - shortest/longest paths computed on condensation only");
                 }
-                System.out.println("SP Metrics: " + sp.getMetrics());
-
-                // Longest path
-                graph.dagsp.DAGLongestPath lp = new graph.dagsp.DAGLongestPath(g, graphTopo.getOrder());
-                System.out.println("\nCritical Path: " + lp.getCriticalPath());
-                System.out.println("Critical Length: " + lp.getCriticalLength());
-                System.out.println("LP Metrics: " + lp.getMetrics());
-            } else {
-                System.out.println("\nGraph has cycles - shortest/longest paths computed on condensation only");
+            }
+            if (args.length > 0) {
+                System.out.println("\nResults written to " + args[0]);
             }
 
         } catch (Exception e) {
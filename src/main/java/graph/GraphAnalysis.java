@@ -0,0 +1,189 @@
+package graph;
+
+import graph.Graph.Edge;
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGPointToPoint;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.ComponentResult;
+import graph.scc.KosarajuSCC;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import graph.topo.TransitiveReduction;
+import java.util.*;
+import java.util.function.Supplier;
+
+
+/**
+ * Analysis session over one graph. Each derived artifact is computed on first
+ * access and memoized, and artifacts built on others reuse them instead of
+ * re-deriving (in-degrees, transpose, components, condensation, orders, paths).
+ *
+ * The graph must not change while the session is in use; after mutating it,
+ * call invalidate() with the artifact that became stale, or invalidateAll().
+ */
+public class GraphAnalysis {
+
+    public enum Artifact {
+        IN_DEGREE,
+        TRANSPOSE,
+        COMPONENTS,
+        KOSARAJU(TRANSPOSE),
+        CONDENSATION(COMPONENTS),
+        REDUCED_CONDENSATION(CONDENSATION),
+        CONDENSATION_ORDER(CONDENSATION),
+        TOPO_ORDER(IN_DEGREE, COMPONENTS, CONDENSATION, CONDENSATION_ORDER),
+        SHORTEST_PATHS(TOPO_ORDER),
+        POINT_TO_POINT(TOPO_ORDER),
+        LONGEST_PATH(IN_DEGREE, TOPO_ORDER);
+
+        private final Artifact[] dependencies;
+
+        Artifact(Artifact... dependencies) {
+            this.dependencies = dependencies;
+        }
+
+        public List<Artifact> getDependencies() {
+            return Arrays.asList(dependencies);
+        }
+    }
+
+    private final Graph graph;
+    private final EnumMap<Artifact, Object> artifacts = new EnumMap<>(Artifact.class);
+    private final EnumMap<Artifact, Double> computeTimes = new EnumMap<>(Artifact.class);
+
+    public GraphAnalysis(Graph graph) {
+        this.graph = graph;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public int[] getInDegrees() {
+        return memo(Artifact.IN_DEGREE, () -> TopologicalSort.inDegrees(graph));
+    }
+
+    public List<Edge>[] getTranspose() {
+        return memo(Artifact.TRANSPOSE, () -> KosarajuSCC.transpose(graph));
+    }
+
+    public TarjanSCC getTarjan() {
+        return memo(Artifact.COMPONENTS, () -> new TarjanSCC(graph));
+    }
+
+    public ComponentResult getComponents() {
+        return getTarjan().getResult();
+    }
+
+    public KosarajuSCC getKosaraju() {
+        return memo(Artifact.KOSARAJU, () -> new KosarajuSCC(graph, getTranspose()));
+    }
+
+    public Graph getCondensation() {
+        return memo(Artifact.CONDENSATION, () -> getTarjan().buildCondensation());
+    }
+
+    public TransitiveReduction getReducedCondensation() {
+        return memo(Artifact.REDUCED_CONDENSATION, () -> new TransitiveReduction(getCondensation()));
+    }
+
+    public TopologicalSort getCondensationOrder() {
+        return memo(Artifact.CONDENSATION_ORDER, () -> new TopologicalSort(getCondensation()));
+    }
+
+    /**
+     * Kahn order of the graph itself. When every component is a single vertex
+     * and the condensation kept every edge (no self-loops, no parallel edges),
+     * the condensation is the graph with the same adjacency order, so its
+     * order is reused. Otherwise Kahn runs once on the memoized in-degrees.
+     */
+    public TopologicalSort getTopologicalOrder() {
+        return memo(Artifact.TOPO_ORDER, () -> {
+            if (getComponents().getComponentCount() == graph.getN()
+                    && getCondensation().getEdgeCount() == graph.getEdgeCount()) {
+                return getCondensationOrder();
+            }
+            return new TopologicalSort(graph, getInDegrees());
+        });
+    }
+
+    public boolean isDAG() {
+        return getTopologicalOrder().isDAG();
+    }
+
+    /**
+     * Shortest paths from source; one DP per distinct source is kept
+     */
+    public DAGShortestPath getShortestPaths(int source) {
+        Map<Integer, DAGShortestPath> bySource = memo(Artifact.SHORTEST_PATHS, HashMap::new);
+        DAGShortestPath paths = bySource.get(source);
+        if (paths == null) {
+            paths = new DAGShortestPath(graph, source, requireDAG());
+            bySource.put(source, paths);
+        }
+        return paths;
+    }
+
+    /**
+     * Index for source -> target queries that only sweep the window between them
+     */
+    public DAGPointToPoint getPointToPoint() {
+        return memo(Artifact.POINT_TO_POINT, () -> new DAGPointToPoint(graph, requireDAG()));
+    }
+
+    public DAGLongestPath getLongestPath() {
+        return memo(Artifact.LONGEST_PATH, () -> new DAGLongestPath(graph, requireDAG(), getInDegrees()));
+    }
+
+    public boolean isComputed(Artifact artifact) {
+        return artifacts.containsKey(artifact);
+    }
+
+    /**
+     * Milliseconds spent on the first access, including dependencies it triggered;
+     * -1 if the artifact has not been computed
+     */
+    public double getComputeTime(Artifact artifact) {
+        return computeTimes.getOrDefault(artifact, -1.0);
+    }
+
+    /**
+     * Drop an artifact and everything derived from it
+     */
+    public void invalidate(Artifact artifact) {
+        artifacts.remove(artifact);
+        computeTimes.remove(artifact);
+        for (Artifact dependent : Artifact.values()) {
+            if (dependent.getDependencies().contains(artifact) && isComputed(dependent)) {
+                invalidate(dependent);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        artifacts.clear();
+        computeTimes.clear();
+    }
+
+
+    private List<Integer> requireDAG() {
+        TopologicalSort topo = getTopologicalOrder();
+        if (!topo.isDAG()) {
+            throw new IllegalStateException("Path analysis requires a DAG");
+        }
+        return topo.getOrder();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T memo(Artifact artifact, Supplier<T> compute) {
+        Object value = artifacts.get(artifact);
+        if (value == null) {
+            long startTime = System.nanoTime();
+            value = compute.get();
+            long endTime = System.nanoTime();
+            artifacts.put(artifact, value);
+            computeTimes.put(artifact, (endTime - startTime) / 1_000_000.0);
+        }
+        return (T) value;
+    }
+}
@@ -0,0 +1,213 @@
+package graph;
+
+import graph.Graph.Edge;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+
+/**
+ * Graph builder that many ingestion threads can feed at once.
+ * Every thread appends to its own primitive edge buffer (no locks on the hot path);
+ * build() then groups the edges by source with a parallel counting sort and
+ * fills the adjacency lists in parallel.
+ *
+ * Edges of a vertex keep a deterministic order: buffers in creation order,
+ * then insertion order within a buffer. Callers that need a specific order
+ * across threads can create their own buffers with newBuffer().
+ */
+public class GraphBuilder {
+    private final boolean directed;
+    private final List<EdgeBuffer> buffers;
+    private final ThreadLocal<EdgeBuffer> localBuffer;
+    private double buildTime; // in milliseconds
+
+    /**
+     * Append-only edge storage for a single writer thread
+     */
+    public static class EdgeBuffer {
+        private int[] sources = new int[1024];
+        private int[] targets = new int[1024];
+        private int[] weights = new int[1024];
+        private int size;
+        private int maxVertex = -1;
+
+        public void addEdge(int u, int v, int weight) {
+            if (u < 0 || v < 0) {
+                throw new IllegalArgumentException("Negative vertex id in edge " + u + " -> " + v);
+            }
+            if (size == sources.length) {
+                int capacity = sources.length * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[size] = u;
+            targets[size] = v;
+            weights[size] = weight;
+            size++;
+            maxVertex = Math.max(maxVertex, Math.max(u, v));
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    public GraphBuilder(boolean directed) {
+        this.directed = directed;
+        this.buffers = new ArrayList<>();
+        this.localBuffer = ThreadLocal.withInitial(this::newBuffer);
+    }
+
+    /**
+     * Register a new buffer. Buffers are concatenated in creation order at build time.
+     */
+    public EdgeBuffer newBuffer() {
+        EdgeBuffer buffer = new EdgeBuffer();
+        synchronized (buffers) {
+            buffers.add(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Thread-safe: appends to the calling thread's own buffer
+     */
+    public void addEdge(int u, int v, int weight) {
+        localBuffer.get().addEdge(u, v, weight);
+    }
+
+    public long getEdgeCount() {
+        long count = 0;
+        synchronized (buffers) {
+            for (EdgeBuffer buffer : buffers) {
+                count += buffer.size;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Build with n = largest vertex id + 1
+     */
+    public Graph build() {
+        int maxVertex = -1;
+        synchronized (buffers) {
+            for (EdgeBuffer buffer : buffers) {
+                maxVertex = Math.max(maxVertex, buffer.maxVertex);
+            }
+        }
+        return build(maxVertex + 1);
+    }
+
+    /**
+     * Build the graph. Must not run concurrently with addEdge.
+     */
+    public Graph build(int n) {
+        long startTime = System.nanoTime();
+
+        EdgeBuffer[] all;
+        synchronized (buffers) {
+            all = buffers.toArray(new EdgeBuffer[0]);
+        }
+        long total = 0;
+        for (EdgeBuffer buffer : all) {
+            if (buffer.maxVertex >= n) {
+                throw new IllegalArgumentException("Vertex " + buffer.maxVertex + " out of range for n = " + n);
+            }
+            // An undirected edge is stored on both endpoints
+            total += directed ? buffer.size : 2L * buffer.size;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges for an int-indexed graph: " + total);
+        }
+
+        // Split the buffers into contiguous groups, one counting-sort task each
+        int groups = Math.max(1, Math.min(all.length, ForkJoinPool.getCommonPoolParallelism()));
+        int[][] cursor = new int[groups][];
+
+        // Pass 1: per-group histogram of source vertices
+        IntStream.range(0, groups).parallel().forEach(t -> {
+            int[] counts = new int[n];
+            for (int b = groupStart(t, groups, all.length); b < groupStart(t + 1, groups, all.length); b++) {
+                EdgeBuffer buffer = all[b];
+                for (int i = 0; i < buffer.size; i++) {
+                    counts[buffer.sources[i]]++;
+                    if (!directed && buffer.sources[i] != buffer.targets[i]) {
+                        counts[buffer.targets[i]]++;
+                    }
+                }
+            }
+            cursor[t] = counts;
+        });
+
+        // Pass 2: offsets of each vertex, then the start of each group inside it
+        int[] offsets = new int[n + 1];
+        IntStream.range(0, n).parallel().forEach(u -> {
+            int degree = 0;
+            for (int t = 0; t < groups; t++) {
+                degree += cursor[t][u];
+            }
+            offsets[u + 1] = degree;
+        });
+        Arrays.parallelPrefix(offsets, Integer::sum);
+        IntStream.range(0, n).parallel().forEach(u -> {
+            int run = offsets[u];
+            for (int t = 0; t < groups; t++) {
+                int count = cursor[t][u];
+                cursor[t][u] = run;
+                run += count;
+            }
+        });
+
+        // Pass 3: scatter, each group writes only its own slots
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        IntStream.range(0, groups).parallel().forEach(t -> {
+            int[] next = cursor[t];
+            for (int b = groupStart(t, groups, all.length); b < groupStart(t + 1, groups, all.length); b++) {
+                EdgeBuffer buffer = all[b];
+                for (int i = 0; i < buffer.size; i++) {
+                    int slot = next[buffer.sources[i]]++;
+                    targets[slot] = buffer.targets[i];
+                    weights[slot] = buffer.weights[i];
+                    if (!directed && buffer.sources[i] != buffer.targets[i]) {
+                        slot = next[buffer.targets[i]]++;
+                        targets[slot] = buffer.sources[i];
+                        weights[slot] = buffer.weights[i];
+                    }
+                }
+            }
+        });
+
+        // Pass 4: presized adjacency lists, built in parallel
+        Graph g = new Graph(n, directed);
+        IntStream.range(0, n).parallel().forEach(u -> {
+            List<Edge> edges = new ArrayList<>(offsets[u + 1] - offsets[u]);
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                edges.add(new Edge(targets[e], weights[e]));
+            }
+            g.setAdjacency(u, edges);
+        });
+
+        long endTime = System.nanoTime();
+        buildTime = (endTime - startTime) / 1_000_000.0;
+        return g;
+    }
+
+    private static int groupStart(int t, int groups, int buffers) {
+        return (int) ((long) t * buffers / groups);
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Duration of the last build() in milliseconds
+     */
+    public double getBuildTime() {
+        return buildTime;
+    }
+}
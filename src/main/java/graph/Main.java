@@ -2,51 +2,94 @@ package graph;
 
 import graph.scc.TarjanSCC;
 import graph.scc.KosarajuSCC;
+import graph.scc.ComponentResult;
 import graph.topo.TopologicalSort;
+import graph.topo.TransitiveReduction;
+import graph.util.MemoryMeter;
+import graph.util.ResultCache;
 import graph.dagsp.DAGShortestPath;
 import graph.dagsp.DAGLongestPath;
 
 import java.io.FileWriter;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 
 class RunAllDatasets {
 
+    private static final String CACHE_DIR = "cache";
+
+    // Metrics every entry must carry, and those only present when the paths were computed
+    private static final String[] METRICS = {
+            "tarjan.dfsVisits", "tarjan.edgesExplored", "tarjan.time", "tarjan.allocated", "tarjan.retained",
+            "kosaraju.dfsVisits", "kosaraju.edgesExplored", "kosaraju.time", "kosaraju.allocated", "kosaraju.retained",
+            "condensation.edges", "condensation.redundant", "condensation.allocated", "condensation.retained",
+            "topo.pushes", "topo.pops", "topo.time", "topo.allocated", "topo.retained"
+    };
+    private static final String[] PATH_METRICS = {
+            "compaction.removed", "sp.relaxations", "sp.time", "sp.allocated", "sp.retained",
+            "lp.relaxations", "lp.time", "lp.allocated", "lp.retained"
+    };
+
+    // Marks rows whose times and allocation come from the run that filled the cache
+    private static final String HISTORICAL = " *";
+
     static class DatasetResult {
         String filename;
         int nodes;
-        int edges;
+        long edges;
 
         // SCC results (Tarjan)
         int sccs;
         int largestSCC;
-        int tarjanDFSVisits;
-        int tarjanEdgesExplored;
+        long tarjanDFSVisits;
+        long tarjanEdgesExplored;
         double tarjanTime;
 
         // SCC results (Kosaraju)
-        int kosarajuDFSVisits;
-        int kosarajuEdgesExplored;
+        long kosarajuDFSVisits;
+        long kosarajuEdgesExplored;
         double kosarajuTime;
 
+        // Condensation and its transitive reduction
+        int condensationEdges;
+        int redundantEdges;
+
         // Topological sort
-        int topoPushes;
-        int topoPops;
+        long topoPushes;
+        long topoPops;
         double topoTime;
         boolean isDAG;
 
+        // Parallel edges merged before the path DPs
+        int mergedEdges;
+
         // DAG Shortest Path (if applicable)
-        int spRelaxations;
+        long spRelaxations;
         double spTime;
         Integer maxDistance;
 
         // DAG Longest Path (if applicable)
-        int lpRelaxations;
+        long lpRelaxations;
         double lpTime;
         int criticalLength;
         String criticalPath;
+
+        // Bytes allocated by each run (-1 if unsupported) and estimated retained bytes
+        long tarjanAllocated, tarjanRetained;
+        long kosarajuAllocated, kosarajuRetained;
+        long condensationAllocated, condensationRetained;
+        long topoAllocated, topoRetained;
+        long spAllocated, spRetained;
+        long lpAllocated, lpRetained;
+
+        // True if the results were loaded from the result cache; its timings and
+        // allocation are then from an earlier run and are marked as such
+        boolean cached;
     }
 
     public static void main(String[] args) {
@@ -55,6 +98,10 @@ class RunAllDatasets {
         System.out.println("=".repeat(100));
         System.out.println();
 
+        // Pass --no-cache to force recomputation of every dataset
+        boolean useCache = !Arrays.asList(args).contains("--no-cache");
+        ResultCache cache = useCache ? new ResultCache(CACHE_DIR) : null;
+
         String[] datasets = {
                 "data/small_dag_1.json",
                 "data/small_cyclic_1.json",
@@ -75,7 +122,7 @@ class RunAllDatasets {
                 System.out.println("Processing: " + dataset);
                 System.out.println("-".repeat(100));
 
-                DatasetResult result = processDataset(dataset);
+                DatasetResult result = processDataset(dataset, cache);
                 results.add(result);
 
                 printSummary(result);
@@ -99,6 +146,7 @@ class RunAllDatasets {
             printTable3_SCCDetection(results);
             printTable4_TopologicalSort(results);
             printTable5_DAGPaths(results);
+            printTable6_Memory(results);
 
             // Save to file
             saveResultsToFile(results);
@@ -108,7 +156,7 @@ class RunAllDatasets {
         System.out.println("📊 Results saved to: results_summary.txt");
     }
 
-    private static DatasetResult processDataset(String filepath) throws Exception {
+    private static DatasetResult processDataset(String filepath, ResultCache cache) throws Exception {
         DatasetResult result = new DatasetResult();
         result.filename = filepath.substring(filepath.lastIndexOf('/') + 1);
 
@@ -122,73 +170,208 @@ class RunAllDatasets {
             result.edges += g.getAdjList()[i].size();
         }
 
+        // Reuse earlier results for an unchanged graph
+        String key = ResultCache.key(g);
+        ResultCache.Entry entry = cache == null ? null : cache.load(key, g.getN());
+        if (entry != null && !hasAllMetrics(entry)) {
+            System.out.println("Ignoring incomplete cache entry for " + result.filename);
+            entry = null;
+        }
+        if (entry != null) {
+            result.cached = true;
+        } else {
+            entry = analyze(g);
+            if (cache != null) {
+                try {
+                    cache.store(key, entry);
+                } catch (IOException e) {
+                    System.out.println("⚠️  Could not write cache entry: " + e.getMessage());
+                }
+            }
+        }
+
+        fillResult(result, entry);
+        return result;
+    }
+
+    /**
+     * Run every algorithm on the graph and collect the artifacts and metrics
+     */
+    private static ResultCache.Entry analyze(Graph g) {
+        ResultCache.Entry entry = new ResultCache.Entry();
+        Map<String, Double> m = entry.metrics;
+        GraphAnalysis analysis = new GraphAnalysis(g);
+
         // Run Tarjan SCC
-        TarjanSCC tarjan = new TarjanSCC(g);
-        result.sccs = tarjan.getComponents().size();
-        result.largestSCC = tarjan.getComponents().stream()
-                .mapToInt(List::size)
-                .max()
-                .orElse(0);
-        result.tarjanDFSVisits = tarjan.getMetrics().getDfsVisits();
-        result.tarjanEdgesExplored = tarjan.getMetrics().getEdgesExplored();
-        result.tarjanTime = tarjan.getMetrics().getExecutionTime();
+        TarjanSCC tarjan = analysis.getTarjan();
+        ComponentResult components = tarjan.getResult();
+        entry.nodeToComponent = components.getComponentOf().clone();
+        entry.componentOffsets = components.getOffsets().clone();
+        entry.componentMembers = components.getMembers().clone();
+        m.put("tarjan.dfsVisits", (double) tarjan.getMetrics().getDfsVisits());
+        m.put("tarjan.edgesExplored", (double) tarjan.getMetrics().getEdgesExplored());
+        m.put("tarjan.time", tarjan.getMetrics().getExecutionTime());
+        putMemory(m, "tarjan", tarjan.getMetrics().getAllocatedBytes(), tarjan.getMetrics().getRetainedBytes());
 
         // Run Kosaraju SCC
-        KosarajuSCC kosaraju = new KosarajuSCC(g);
-        result.kosarajuDFSVisits = kosaraju.getMetrics().getDfsVisits();
-        result.kosarajuEdgesExplored = kosaraju.getMetrics().getEdgesExplored();
-        result.kosarajuTime = kosaraju.getMetrics().getExecutionTime();
+        KosarajuSCC kosaraju = analysis.getKosaraju();
+        m.put("kosaraju.dfsVisits", (double) kosaraju.getMetrics().getDfsVisits());
+        m.put("kosaraju.edgesExplored", (double) kosaraju.getMetrics().getEdgesExplored());
+        m.put("kosaraju.time", kosaraju.getMetrics().getExecutionTime());
+        putMemory(m, "kosaraju", kosaraju.getMetrics().getAllocatedBytes(), kosaraju.getMetrics().getRetainedBytes());
 
         // Build condensation
-        Graph condensation = tarjan.buildCondensation();
+        long allocationStart = MemoryMeter.allocatedBytes();
+        Graph condensation = analysis.getCondensation();
+        putMemory(m, "condensation", MemoryMeter.allocatedSince(allocationStart), MemoryMeter.graph(condensation));
+        int k = condensation.getN();
+        entry.condensationOffsets = new int[k + 1];
+        for (int u = 0; u < k; u++) {
+            entry.condensationOffsets[u + 1] = entry.condensationOffsets[u] + condensation.getAdjList()[u].size();
+        }
+        entry.condensationTargets = new int[entry.condensationOffsets[k]];
+        entry.condensationWeights = new int[entry.condensationOffsets[k]];
+        for (int u = 0, e = 0; u < k; u++) {
+            for (Graph.Edge edge : condensation.getAdjList()[u]) {
+                entry.condensationTargets[e] = edge.to;
+                entry.condensationWeights[e++] = edge.weight;
+            }
+        }
+        TransitiveReduction reduction = analysis.getReducedCondensation();
+        m.put("condensation.edges", (double) reduction.getOriginalEdges());
+        m.put("condensation.redundant", (double) reduction.getEdgesRemoved());
 
         // Topological sort on condensation
-        TopologicalSort topo = new TopologicalSort(condensation);
-        result.topoPushes = topo.getMetrics().getPushes();
-        result.topoPops = topo.getMetrics().getPops();
-        result.topoTime = topo.getMetrics().getExecutionTime();
-        result.isDAG = topo.isDAG();
-
-        // If original graph is DAG, compute paths
-        if (result.sccs == result.nodes) {
-            TopologicalSort graphTopo = new TopologicalSort(g);
+        TopologicalSort topo = analysis.getCondensationOrder();
+        entry.topoOrder = ResultCache.toArray(topo.getOrder());
+        entry.isDAG = topo.isDAG();
+        m.put("topo.pushes", (double) topo.getMetrics().getPushes());
+        m.put("topo.pops", (double) topo.getMetrics().getPops());
+        m.put("topo.time", topo.getMetrics().getExecutionTime());
+        putMemory(m, "topo", topo.getMetrics().getAllocatedBytes(), topo.getMetrics().getRetainedBytes());
+
+        // If original graph is DAG, compute paths (reuses the condensation order when possible)
+        if (components.getComponentCount() == g.getN()) {
+            TopologicalSort graphTopo = analysis.getTopologicalOrder();
 
             if (graphTopo.isDAG()) {
                 int source = g.getSource();
 
+                // Merge parallel edges so each (u, v) pair is relaxed once
+                Graph spGraph = g.copy();
+                Graph lpGraph = g.copy();
+                m.put("compaction.removed", (double) spGraph.compact(Graph.MergePolicy.MIN_WEIGHT, true));
+                lpGraph.compact(Graph.MergePolicy.MAX_WEIGHT, true);
+
                 // Shortest paths
-                DAGShortestPath sp = new DAGShortestPath(g, source, graphTopo.getOrder());
-                result.spRelaxations = sp.getMetrics().getRelaxations();
-                result.spTime = sp.getMetrics().getExecutionTime();
-
-                // Find max distance
-                int maxDist = 0;
-                for (int i = 0; i < g.getN(); i++) {
-                    if (sp.getDistance(i) != Integer.MAX_VALUE) {
-                        maxDist = Math.max(maxDist, sp.getDistance(i));
-                    }
+                DAGShortestPath sp = new DAGShortestPath(spGraph, source, graphTopo.getOrder());
+                entry.shortestDistances = sp.getAllDistances().clone();
+                entry.shortestParents = new int[g.getN()];
+                for (int v = 0; v < g.getN(); v++) {
+                    entry.shortestParents[v] = sp.getParent(v);
                 }
-                result.maxDistance = maxDist;
+                m.put("sp.relaxations", (double) sp.getMetrics().getRelaxations());
+                m.put("sp.time", sp.getMetrics().getExecutionTime());
+                putMemory(m, "sp", sp.getMetrics().getAllocatedBytes(), sp.getMetrics().getRetainedBytes());
 
                 // Longest path
-                DAGLongestPath lp = new DAGLongestPath(g, graphTopo.getOrder());
-                result.lpRelaxations = lp.getMetrics().getRelaxations();
-                result.lpTime = lp.getMetrics().getExecutionTime();
-                result.criticalLength = lp.getCriticalLength();
-                result.criticalPath = lp.getCriticalPath().toString();
+                DAGLongestPath lp = new DAGLongestPath(lpGraph, graphTopo.getOrder());
+                entry.criticalPath = ResultCache.toArray(lp.getCriticalPath());
+                entry.criticalLength = lp.getCriticalLength();
+                m.put("lp.relaxations", (double) lp.getMetrics().getRelaxations());
+                m.put("lp.time", lp.getMetrics().getExecutionTime());
+                putMemory(m, "lp", lp.getMetrics().getAllocatedBytes(), lp.getMetrics().getRetainedBytes());
             }
         }
 
-        return result;
+        return entry;
+    }
+
+    /**
+     * False for entries written by an older version that lack some metric
+     */
+    private static boolean hasAllMetrics(ResultCache.Entry entry) {
+        List<String> required = new ArrayList<>(Arrays.asList(METRICS));
+        if (entry.shortestDistances != null) {
+            required.addAll(Arrays.asList(PATH_METRICS));
+        }
+        return entry.metrics.keySet().containsAll(required);
+    }
+
+    private static void putMemory(Map<String, Double> m, String prefix, long allocated, long retained) {
+        m.put(prefix + ".allocated", (double) allocated);
+        m.put(prefix + ".retained", (double) retained);
+    }
+
+    private static void fillResult(DatasetResult result, ResultCache.Entry entry) {
+        Map<String, Double> m = entry.metrics;
+
+        result.sccs = entry.componentOffsets.length - 1;
+        result.largestSCC = 0;
+        for (int c = 0; c < result.sccs; c++) {
+            result.largestSCC = Math.max(result.largestSCC,
+                    entry.componentOffsets[c + 1] - entry.componentOffsets[c]);
+        }
+        result.tarjanDFSVisits = m.get("tarjan.dfsVisits").longValue();
+        result.tarjanEdgesExplored = m.get("tarjan.edgesExplored").longValue();
+        result.tarjanTime = m.get("tarjan.time");
+        result.tarjanAllocated = m.get("tarjan.allocated").longValue();
+        result.tarjanRetained = m.get("tarjan.retained").longValue();
+
+        result.kosarajuDFSVisits = m.get("kosaraju.dfsVisits").longValue();
+        result.kosarajuEdgesExplored = m.get("kosaraju.edgesExplored").longValue();
+        result.kosarajuTime = m.get("kosaraju.time");
+        result.kosarajuAllocated = m.get("kosaraju.allocated").longValue();
+        result.kosarajuRetained = m.get("kosaraju.retained").longValue();
+
+        result.condensationEdges = m.get("condensation.edges").intValue();
+        result.redundantEdges = m.get("condensation.redundant").intValue();
+        result.condensationAllocated = m.get("condensation.allocated").longValue();
+        result.condensationRetained = m.get("condensation.retained").longValue();
+
+        result.topoPushes = m.get("topo.pushes").longValue();
+        result.topoPops = m.get("topo.pops").longValue();
+        result.topoTime = m.get("topo.time");
+        result.topoAllocated = m.get("topo.allocated").longValue();
+        result.topoRetained = m.get("topo.retained").longValue();
+        result.isDAG = entry.isDAG;
+
+        if (entry.shortestDistances != null) {
+            result.mergedEdges = m.get("compaction.removed").intValue();
+            result.spRelaxations = m.get("sp.relaxations").longValue();
+            result.spTime = m.get("sp.time");
+            result.spAllocated = m.get("sp.allocated").longValue();
+            result.spRetained = m.get("sp.retained").longValue();
+
+            // Find max distance
+            int maxDist = 0;
+            for (int d : entry.shortestDistances) {
+                if (d != Integer.MAX_VALUE) {
+                    maxDist = Math.max(maxDist, d);
+                }
+            }
+            result.maxDistance = maxDist;
+
+            result.lpRelaxations = m.get("lp.relaxations").longValue();
+            result.lpTime = m.get("lp.time");
+            result.lpAllocated = m.get("lp.allocated").longValue();
+            result.lpRetained = m.get("lp.retained").longValue();
+            result.criticalLength = entry.criticalLength;
+            result.criticalPath = Arrays.toString(entry.criticalPath);
+        }
     }
 
     private static void printSummary(DatasetResult r) {
-        System.out.println("Dataset: " + r.filename);
+        System.out.println("Dataset: " + r.filename
+                + (r.cached ? " (cached; times and allocation from an earlier run)" : ""));
         System.out.println("  Nodes: " + r.nodes + ", Edges: " + r.edges);
         System.out.println("  SCCs: " + r.sccs + ", Largest SCC: " + r.largestSCC);
+        System.out.println("  Condensation: " + r.condensationEdges + " edges, "
+                + r.redundantEdges + " transitively redundant");
         System.out.println("  Tarjan:   " + String.format("%.3f ms", r.tarjanTime));
         System.out.println("  Kosaraju: " + String.format("%.3f ms", r.kosarajuTime));
         if (r.maxDistance != null) {
+            System.out.println("  Parallel edges merged: " + r.mergedEdges);
             System.out.println("  Critical Path Length: " + r.criticalLength);
         } else {
             System.out.println("  Type: Cyclic (paths computed on condensation)");
@@ -221,9 +404,10 @@ class RunAllDatasets {
             double speedup = Math.max(r.tarjanTime, r.kosarajuTime) /
                     Math.min(r.tarjanTime, r.kosarajuTime);
             System.out.printf("| %-16s | %5d | %11.3f | %13.3f | %-8s | %7.2fx |\n",
-                    r.filename, r.nodes, r.tarjanTime, r.kosarajuTime, faster, speedup);
+                    timed(r), r.nodes, r.tarjanTime, r.kosarajuTime, faster, speedup);
         }
         System.out.println("```");
+        printHistoricalNote(results);
     }
 
     private static void printTable3_SCCDetection(List<DatasetResult> results) {
@@ -234,10 +418,11 @@ class RunAllDatasets {
 
         for (DatasetResult r : results) {
             System.out.printf("| %-16s | %5d | %5d | %4d | %10d | %14d | %9.3f |\n",
-                    r.filename, r.nodes, r.edges, r.sccs,
+                    timed(r), r.nodes, r.edges, r.sccs,
                     r.tarjanDFSVisits, r.tarjanEdgesExplored, r.tarjanTime);
         }
         System.out.println("```");
+        printHistoricalNote(results);
     }
 
     private static void printTable4_TopologicalSort(List<DatasetResult> results) {
@@ -248,10 +433,11 @@ class RunAllDatasets {
 
         for (DatasetResult r : results) {
             System.out.printf("| %-16s | %5d | %4d | %6d | %4d | %9.3f | %-7s |\n",
-                    r.filename, r.nodes, r.sccs, r.topoPushes, r.topoPops,
+                    timed(r), r.nodes, r.sccs, r.topoPushes, r.topoPops,
                     r.topoTime, r.isDAG ? "Yes" : "No");
         }
         System.out.println("```");
+        printHistoricalNote(results);
     }
 
     private static void printTable5_DAGPaths(List<DatasetResult> results) {
@@ -263,7 +449,7 @@ class RunAllDatasets {
         for (DatasetResult r : results) {
             if (r.maxDistance != null) {
                 System.out.printf("| %-16s | %8d | %8d | %7.3f | %12d | %8d | %7.3f |\n",
-                        r.filename, r.maxDistance, r.spRelaxations, r.spTime,
+                        timed(r), r.maxDistance, r.spRelaxations, r.spTime,
                         r.criticalLength, r.lpRelaxations, r.lpTime);
             } else {
                 System.out.printf("| %-16s | %8s | %8s | %7s | %12s | %8s | %7s |\n",
@@ -271,6 +457,60 @@ class RunAllDatasets {
             }
         }
         System.out.println("```");
+        printHistoricalNote(results);
+    }
+
+    private static void printTable6_Memory(List<DatasetResult> results) {
+        System.out.println("\n### Table 6: Memory Footprint (allocated during the run / retained by the result)");
+        System.out.println("```");
+        System.out.println("| Dataset          | Algorithm    | Alloc (KB) | Alloc B/V | Alloc B/E | Retained (KB) | Ret. B/V |");
+        System.out.println("|------------------|--------------|------------|-----------|-----------|---------------|----------|");
+
+        for (DatasetResult r : results) {
+            printMemoryRow(r, "Tarjan", r.tarjanAllocated, r.tarjanRetained);
+            printMemoryRow(r, "Kosaraju", r.kosarajuAllocated, r.kosarajuRetained);
+            printMemoryRow(r, "Condensation", r.condensationAllocated, r.condensationRetained);
+            printMemoryRow(r, "Topo Sort", r.topoAllocated, r.topoRetained);
+            if (r.maxDistance != null) {
+                printMemoryRow(r, "Shortest", r.spAllocated, r.spRetained);
+                printMemoryRow(r, "Longest", r.lpAllocated, r.lpRetained);
+            }
+        }
+        System.out.println("```");
+        printHistoricalNote(results);
+    }
+
+    private static void printMemoryRow(DatasetResult r, String algorithm, long allocated, long retained) {
+        double retainedPerVertex = (double) retained / Math.max(1, r.nodes);
+        if (allocated < 0) {
+            System.out.printf("| %-16s | %-12s | %10s | %9s | %9s | %13.1f | %8.1f |\n",
+                    timed(r), algorithm, "N/A", "N/A", "N/A", retained / 1024.0, retainedPerVertex);
+        } else {
+            System.out.printf("| %-16s | %-12s | %10.1f | %9.1f | %9.1f | %13.1f | %8.1f |\n",
+                    timed(r), algorithm, allocated / 1024.0,
+                    (double) allocated / Math.max(1, r.nodes), (double) allocated / Math.max(1, r.edges),
+                    retained / 1024.0, retainedPerVertex);
+        }
+    }
+
+    /**
+     * Dataset name for the timing and memory tables, marked if those figures are cached
+     */
+    private static String timed(DatasetResult r) {
+        return r.cached ? r.filename + HISTORICAL : r.filename;
+    }
+
+    private static void printHistoricalNote(List<DatasetResult> results) {
+        if (results.stream().anyMatch(r -> r.cached)) {
+            System.out.println("(" + HISTORICAL.trim() + " cached result: times and allocation were measured by an "
+                    + "earlier run, not this one; use --no-cache to remeasure)");
+        }
+    }
+
+    private static String memoryPerElement(DatasetResult r, long allocated, long retained) {
+        String alloc = allocated < 0 ? "N/A" : String.format("%.1f B/V, %.1f B/E",
+                (double) allocated / Math.max(1, r.nodes), (double) allocated / Math.max(1, r.edges));
+        return String.format("allocated %s; retained %.1f B/V", alloc, (double) retained / Math.max(1, r.nodes));
     }
 
     private static void saveResultsToFile(List<DatasetResult> results) {
@@ -280,13 +520,23 @@ class RunAllDatasets {
             writer.println();
 
             for (DatasetResult r : results) {
-                writer.println("Dataset: " + r.filename);
+                writer.println("Dataset: " + r.filename
+                        + (r.cached ? " (cached; times and allocation from an earlier run)" : ""));
                 writer.println("  Nodes: " + r.nodes + ", Edges: " + r.edges);
                 writer.println("  SCCs: " + r.sccs + ", Largest SCC: " + r.largestSCC);
                 writer.println("  Tarjan:   " + String.format("%.3f ms (DFS: %d, Edges: %d)",
                         r.tarjanTime, r.tarjanDFSVisits, r.tarjanEdgesExplored));
                 writer.println("  Kosaraju: " + String.format("%.3f ms (DFS: %d, Edges: %d)",
                         r.kosarajuTime, r.kosarajuDFSVisits, r.kosarajuEdgesExplored));
+                writer.println("  Memory:");
+                writer.println("    Tarjan:       " + memoryPerElement(r, r.tarjanAllocated, r.tarjanRetained));
+                writer.println("    Kosaraju:     " + memoryPerElement(r, r.kosarajuAllocated, r.kosarajuRetained));
+                writer.println("    Condensation: " + memoryPerElement(r, r.condensationAllocated, r.condensationRetained));
+                writer.println("    Topo Sort:    " + memoryPerElement(r, r.topoAllocated, r.topoRetained));
+                if (r.maxDistance != null) {
+                    writer.println("    Shortest:     " + memoryPerElement(r, r.spAllocated, r.spRetained));
+                    writer.println("    Longest:      " + memoryPerElement(r, r.lpAllocated, r.lpRetained));
+                }
 
                 if (r.maxDistance != null) {
                     writer.println("  Shortest Path: Max distance = " + r.maxDistance +
@@ -0,0 +1,155 @@
+package graph;
+
+import com.google.gson.Gson;
+import graph.Graph.Edge;
+import java.io.FileReader;
+import java.util.*;
+import java.util.stream.IntStream;
+
+
+/**
+ * Compact undirected graph. Every edge is stored once in edgeU / edgeV / weight;
+ * the incidence lists (CSR) hold edge ids, so both endpoints share one weight slot.
+ * The neighbour across edge e from v is edgeU[e] ^ edgeV[e] ^ v.
+ * A self-loop appears once in its vertex's incidence list.
+ */
+public class UndirectedGraph {
+    private final int n;
+    private final int[] edgeU;
+    private final int[] edgeV;
+    private final int[] weight;
+    private final int[] offsets;   // incident edges of v are incident[offsets[v] .. offsets[v + 1])
+    private final int[] incident;
+    private final int source;
+
+    /**
+     * Takes ownership of the edge arrays
+     */
+    public UndirectedGraph(int n, int[] edgeU, int[] edgeV, int[] weight, int source) {
+        this.n = n;
+        this.edgeU = edgeU;
+        this.edgeV = edgeV;
+        this.weight = weight;
+        this.source = source;
+        int m = edgeU.length;
+
+        // Counting sort of edge ids by endpoint
+        this.offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[edgeU[e] + 1]++;
+            if (edgeV[e] != edgeU[e]) {
+                offsets[edgeV[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        this.incident = new int[offsets[n]];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            incident[fill[edgeU[e]]++] = e;
+            if (edgeV[e] != edgeU[e]) {
+                incident[fill[edgeV[e]]++] = e;
+            }
+        }
+    }
+
+    /**
+     * Load a graph file and treat every listed edge as undirected, whatever its directed flag
+     */
+    public static UndirectedGraph fromJSON(String filepath) throws Exception {
+        Gson gson = new Gson();
+        Graph.GraphData data = gson.fromJson(new FileReader(filepath), Graph.GraphData.class);
+
+        int m = data.edges.length;
+        int[] edgeU = new int[m];
+        int[] edgeV = new int[m];
+        int[] weight = new int[m];
+        for (int e = 0; e < m; e++) {
+            edgeU[e] = data.edges[e].u;
+            edgeV[e] = data.edges[e].v;
+            weight[e] = data.edges[e].w;
+        }
+        return new UndirectedGraph(data.n, edgeU, edgeV, weight, data.source);
+    }
+
+    /**
+     * From an adjacency-list graph. A directed graph contributes one edge per arc;
+     * an undirected one stores both directions, so only arcs with u <= v are taken.
+     */
+    public static UndirectedGraph fromGraph(Graph graph) {
+        int n = graph.getN();
+        boolean directed = graph.isDirected();
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            for (Edge edge : graph.getAdjList()[u]) {
+                if (directed || u <= edge.to) {
+                    m++;
+                }
+            }
+        }
+        int[] edgeU = new int[m];
+        int[] edgeV = new int[m];
+        int[] weight = new int[m];
+        for (int u = 0, e = 0; u < n; u++) {
+            for (Edge edge : graph.getAdjList()[u]) {
+                if (directed || u <= edge.to) {
+                    edgeU[e] = u;
+                    edgeV[e] = edge.to;
+                    weight[e++] = edge.weight;
+                }
+            }
+        }
+        return new UndirectedGraph(n, edgeU, edgeV, weight, graph.getSource());
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public int getEdgeCount() {
+        return edgeU.length;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Id of the i-th edge incident to v, 0 <= i < degree(v)
+     */
+    public int incidentEdge(int v, int i) {
+        return incident[offsets[v] + i];
+    }
+
+    public int other(int e, int v) {
+        return edgeU[e] ^ edgeV[e] ^ v;
+    }
+
+    public int getU(int e) {
+        return edgeU[e];
+    }
+
+    public int getV(int e) {
+        return edgeV[e];
+    }
+
+    public int getWeight(int e) {
+        return weight[e];
+    }
+
+    public void setWeight(int e, int w) {
+        weight[e] = w;
+    }
+
+    /**
+     * Neighbours of v in incidence order
+     */
+    public IntStream neighbors(int v) {
+        return IntStream.range(offsets[v], offsets[v + 1]).map(i -> other(incident[i], v));
+    }
+}
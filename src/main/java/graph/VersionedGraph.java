@@ -0,0 +1,417 @@
+package graph;
+
+import graph.Graph.Edge;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+
+/**
+ * Graph with immutable, versioned snapshots for one writer and many readers.
+ *
+ * Adjacency is split into segments of SEGMENT_SIZE vertices, each a small
+ * immutable CSR block. An update copies only the segments it touches plus the
+ * segment table, then publishes the new Snapshot through an AtomicReference.
+ * Readers call snapshot() and keep using that version for the whole query, with
+ * no locking; writers are serialized among themselves.
+ *
+ * Snapshot.asGraph() gives a read-only Graph for the existing algorithm classes.
+ * Each segment builds its unmodifiable Edge lists once, on first use, and versions
+ * that did not touch the segment share them. Snapshot.mutableCopy() gives a private
+ * Graph that may be changed.
+ */
+public class VersionedGraph {
+    static final int SEGMENT_SHIFT = 8;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final AtomicReference<Snapshot> current;
+    private final Object writeLock = new Object();
+
+    /**
+     * Immutable adjacency of vertices [base, base + size)
+     */
+    private static final class Segment {
+        final int[] offsets;
+        final int[] targets;
+        final int[] weights;
+        private volatile List<Edge>[] lists;
+
+        Segment(int[] offsets, int[] targets, int[] weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        /**
+         * Unmodifiable Edge lists of this segment, built on first use. A race builds
+         * equal lists twice, which is harmless.
+         */
+        @SuppressWarnings("unchecked")
+        List<Edge>[] lists() {
+            List<Edge>[] result = lists;
+            if (result == null) {
+                int size = offsets.length - 1;
+                result = new List[size];
+                for (int i = 0; i < size; i++) {
+                    List<Edge> edges = new ArrayList<>(offsets[i + 1] - offsets[i]);
+                    for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                        edges.add(new Edge(targets[e], weights[e]));
+                    }
+                    result[i] = Collections.unmodifiableList(edges);
+                }
+                lists = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * One published version of the graph. Never changes after publication.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final int n;
+        private final boolean directed;
+        private final int source;
+        private final String weightModel;
+        private final Segment[] segments;
+        private final long edgeCount;
+        private volatile Graph view;
+
+        private Snapshot(long version, int n, boolean directed, int source, String weightModel,
+                         Segment[] segments, long edgeCount) {
+            this.version = version;
+            this.n = n;
+            this.directed = directed;
+            this.source = source;
+            this.weightModel = weightModel;
+            this.segments = segments;
+            this.edgeCount = edgeCount;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int getN() {
+            return n;
+        }
+
+        public boolean isDirected() {
+            return directed;
+        }
+
+        public int getSource() {
+            return source;
+        }
+
+        /**
+         * Number of stored arcs (an undirected edge counts twice, a self-loop once)
+         */
+        public long getEdgeCount() {
+            return edgeCount;
+        }
+
+        public int degree(int u) {
+            Segment segment = segments[u >>> SEGMENT_SHIFT];
+            int i = u & SEGMENT_MASK;
+            return segment.offsets[i + 1] - segment.offsets[i];
+        }
+
+        public int target(int u, int k) {
+            Segment segment = segments[u >>> SEGMENT_SHIFT];
+            return segment.targets[segment.offsets[u & SEGMENT_MASK] + k];
+        }
+
+        public int weight(int u, int k) {
+            Segment segment = segments[u >>> SEGMENT_SHIFT];
+            return segment.weights[segment.offsets[u & SEGMENT_MASK] + k];
+        }
+
+        /**
+         * Read-only Graph over this version, built once per snapshot from the shared
+         * segment lists; O(n) the first time for a version, free afterwards.
+         * Any edit through it throws UnsupportedOperationException.
+         */
+        @SuppressWarnings("unchecked")
+        public Graph asGraph() {
+            Graph result = view;
+            if (result == null) {
+                List<Edge>[] adjList = new List[n];
+                for (int s = 0; s < segments.length; s++) {
+                    List<Edge>[] lists = segments[s].lists();
+                    System.arraycopy(lists, 0, adjList, s << SEGMENT_SHIFT, lists.length);
+                }
+                result = new Graph(n, directed, adjList);
+                result.setSource(source);
+                result.setWeightModel(weightModel);
+                view = result;
+            }
+            return result;
+        }
+
+        /**
+         * A new Graph holding this version; O(n + m) per call.
+         * The caller owns it and may change it freely.
+         */
+        public Graph mutableCopy() {
+            Graph result = new Graph(n, directed);
+            result.setSource(source);
+            result.setWeightModel(weightModel);
+            for (int s = 0; s < segments.length; s++) {
+                Segment segment = segments[s];
+                int base = s << SEGMENT_SHIFT;
+                for (int i = 0; i < segment.offsets.length - 1; i++) {
+                    List<Edge> edges = new ArrayList<>(segment.offsets[i + 1] - segment.offsets[i]);
+                    for (int e = segment.offsets[i]; e < segment.offsets[i + 1]; e++) {
+                        edges.add(new Edge(segment.targets[e], segment.weights[e]));
+                    }
+                    result.setAdjacency(base + i, edges);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Batches edits into one new version. Only valid inside update().
+     */
+    public static final class Editor {
+        private final Snapshot base;
+        private final Map<Integer, int[][]> targets = new HashMap<>(); // touched segment -> per-vertex targets
+        private final Map<Integer, int[][]> weights = new HashMap<>();
+        private final Map<Integer, int[]> sizes = new HashMap<>();
+        private long edgeDelta;
+
+        private Editor(Snapshot base) {
+            this.base = base;
+        }
+
+        public void addEdge(int u, int v, int weight) {
+            check(u, v);
+            addArc(u, v, weight);
+            if (!base.directed && u != v) {
+                addArc(v, u, weight);
+            }
+        }
+
+        /**
+         * Remove the first u -> v (and its twin if undirected); false if there is none
+         */
+        public boolean removeEdge(int u, int v) {
+            check(u, v);
+            if (!removeArc(u, v)) {
+                return false;
+            }
+            if (!base.directed && u != v) {
+                removeArc(v, u);
+            }
+            return true;
+        }
+
+        /**
+         * Change the weight of the first u -> v (and its twin if undirected); false if there is none
+         */
+        public boolean setEdgeWeight(int u, int v, int weight) {
+            check(u, v);
+            if (!setArcWeight(u, v, weight)) {
+                return false;
+            }
+            if (!base.directed && u != v) {
+                setArcWeight(v, u, weight);
+            }
+            return true;
+        }
+
+        private void check(int u, int v) {
+            if (u < 0 || v < 0 || u >= base.n || v >= base.n) {
+                throw new IllegalArgumentException("Vertex out of range in edge " + u + " -> " + v);
+            }
+        }
+
+        private void addArc(int u, int v, int weight) {
+            int s = u >>> SEGMENT_SHIFT;
+            int i = u & SEGMENT_MASK;
+            int[][] t = touch(s);
+            int[][] w = weights.get(s);
+            int[] size = sizes.get(s);
+            if (size[i] == t[i].length) {
+                t[i] = Arrays.copyOf(t[i], Math.max(4, size[i] * 2));
+                w[i] = Arrays.copyOf(w[i], t[i].length);
+            }
+            t[i][size[i]] = v;
+            w[i][size[i]] = weight;
+            size[i]++;
+            edgeDelta++;
+        }
+
+        private boolean removeArc(int u, int v) {
+            int k = find(u, v);
+            if (k < 0) {
+                return false;
+            }
+            int s = u >>> SEGMENT_SHIFT;
+            int i = u & SEGMENT_MASK;
+            int[][] t = targets.get(s);
+            int[][] w = weights.get(s);
+            int[] size = sizes.get(s);
+            System.arraycopy(t[i], k + 1, t[i], k, size[i] - k - 1);
+            System.arraycopy(w[i], k + 1, w[i], k, size[i] - k - 1);
+            size[i]--;
+            edgeDelta--;
+            return true;
+        }
+
+        private boolean setArcWeight(int u, int v, int weight) {
+            int k = find(u, v);
+            if (k < 0) {
+                return false;
+            }
+            weights.get(u >>> SEGMENT_SHIFT)[u & SEGMENT_MASK][k] = weight;
+            return true;
+        }
+
+        /**
+         * Index of the first u -> v; the segment is only copied if the arc exists
+         */
+        private int find(int u, int v) {
+            int s = u >>> SEGMENT_SHIFT;
+            int i = u & SEGMENT_MASK;
+            int[][] t = targets.get(s);
+            if (t == null) {
+                Segment segment = base.segments[s];
+                for (int e = segment.offsets[i]; e < segment.offsets[i + 1]; e++) {
+                    if (segment.targets[e] == v) {
+                        touch(s);
+                        return e - segment.offsets[i];
+                    }
+                }
+                return -1;
+            }
+            int size = sizes.get(s)[i];
+            for (int k = 0; k < size; k++) {
+                if (t[i][k] == v) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Mutable copy of segment s, made on first touch
+         */
+        private int[][] touch(int s) {
+            int[][] t = targets.get(s);
+            if (t == null) {
+                Segment segment = base.segments[s];
+                int size = segment.offsets.length - 1;
+                t = new int[size][];
+                int[][] w = new int[size][];
+                int[] degree = new int[size];
+                for (int i = 0; i < size; i++) {
+                    t[i] = Arrays.copyOfRange(segment.targets, segment.offsets[i], segment.offsets[i + 1]);
+                    w[i] = Arrays.copyOfRange(segment.weights, segment.offsets[i], segment.offsets[i + 1]);
+                    degree[i] = t[i].length;
+                }
+                targets.put(s, t);
+                weights.put(s, w);
+                sizes.put(s, degree);
+            }
+            return t;
+        }
+
+        private Snapshot build() {
+            if (targets.isEmpty()) {
+                return base;
+            }
+            Segment[] segments = base.segments.clone();
+            for (Map.Entry<Integer, int[][]> entry : targets.entrySet()) {
+                int s = entry.getKey();
+                segments[s] = pack(entry.getValue(), weights.get(s), sizes.get(s));
+            }
+            return new Snapshot(base.version + 1, base.n, base.directed, base.source, base.weightModel,
+                    segments, base.edgeCount + edgeDelta);
+        }
+    }
+
+    public VersionedGraph(Graph graph) {
+        int n = graph.getN();
+        int segmentCount = (n + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT;
+        Segment[] segments = new Segment[segmentCount];
+        long edgeCount = 0;
+        for (int s = 0; s < segmentCount; s++) {
+            int base = s << SEGMENT_SHIFT;
+            int size = Math.min(SEGMENT_SIZE, n - base);
+            int[][] t = new int[size][];
+            int[][] w = new int[size][];
+            int[] degree = new int[size];
+            for (int i = 0; i < size; i++) {
+                List<Edge> edges = graph.getAdjList()[base + i];
+                degree[i] = edges.size();
+                t[i] = new int[degree[i]];
+                w[i] = new int[degree[i]];
+                for (int k = 0; k < degree[i]; k++) {
+                    t[i][k] = edges.get(k).to;
+                    w[i][k] = edges.get(k).weight;
+                }
+                edgeCount += degree[i];
+            }
+            segments[s] = pack(t, w, degree);
+        }
+        this.current = new AtomicReference<>(new Snapshot(0, n, graph.isDirected(), graph.getSource(),
+                graph.getWeightModel(), segments, edgeCount));
+    }
+
+    private static Segment pack(int[][] t, int[][] w, int[] degree) {
+        int size = degree.length;
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = offsets[i] + degree[i];
+        }
+        int[] targets = new int[offsets[size]];
+        int[] weights = new int[offsets[size]];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(t[i], 0, targets, offsets[i], degree[i]);
+            System.arraycopy(w[i], 0, weights, offsets[i], degree[i]);
+        }
+        return new Segment(offsets, targets, weights);
+    }
+
+    /**
+     * The latest published version; lock-free
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Apply a batch of edits and publish them as one new version.
+     * Returns the published snapshot (the old one if nothing changed).
+     */
+    public Snapshot update(Consumer<Editor> edits) {
+        synchronized (writeLock) {
+            Editor editor = new Editor(current.get());
+            edits.accept(editor);
+            Snapshot next = editor.build();
+            current.set(next);
+            return next;
+        }
+    }
+
+    public Snapshot addEdge(int u, int v, int weight) {
+        return update(editor -> editor.addEdge(u, v, weight));
+    }
+
+    public boolean removeEdge(int u, int v) {
+        boolean[] removed = new boolean[1];
+        update(editor -> removed[0] = editor.removeEdge(u, v));
+        return removed[0];
+    }
+
+    public boolean setEdgeWeight(int u, int v, int weight) {
+        boolean[] changed = new boolean[1];
+        update(editor -> changed[0] = editor.setEdgeWeight(u, v, weight));
+        return changed[0];
+    }
+}
@@ -0,0 +1,129 @@
+package graph.big;
+
+import graph.dagsp.Metrics;
+import java.util.*;
+
+
+/**
+ * Shortest (single source) and longest (critical) paths on a BigGraph DAG.
+ * Distances are long so long paths over many edges cannot overflow.
+ * Same relaxation order and tie-breaking as DAGShortestPath and DAGLongestPath.
+ */
+public class BigDAGPaths {
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final BigGraph graph;
+    private final long[] dist;
+    private final int[] parent;
+    private final boolean longest;
+    private int criticalEnd = -1;
+    private final Metrics metrics;
+
+    private BigDAGPaths(BigGraph graph, boolean longest) {
+        this.graph = graph;
+        this.dist = new long[graph.getN()];
+        this.parent = new int[graph.getN()];
+        this.longest = longest;
+        this.metrics = new Metrics();
+        Arrays.fill(parent, -1);
+    }
+
+    public static BigDAGPaths shortest(BigGraph graph, int source, int[] topoOrder) {
+        BigDAGPaths paths = new BigDAGPaths(graph, false);
+        long startTime = System.nanoTime();
+
+        long[] dist = paths.dist;
+        Arrays.fill(dist, UNREACHABLE);
+        dist[source] = 0;
+        for (int u : topoOrder) {
+            if (dist[u] == UNREACHABLE) {
+                continue;
+            }
+            for (long e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                paths.metrics.incrementRelaxations();
+                if (dist[u] + graph.weight(e) < dist[v]) {
+                    dist[v] = dist[u] + graph.weight(e);
+                    paths.parent[v] = u;
+                }
+            }
+        }
+
+        paths.metrics.setExecutionTime((System.nanoTime() - startTime) / 1_000_000.0);
+        return paths;
+    }
+
+    public static BigDAGPaths longest(BigGraph graph, int[] topoOrder) {
+        BigDAGPaths paths = new BigDAGPaths(graph, true);
+        long startTime = System.nanoTime();
+
+        long[] dist = paths.dist;
+        int n = graph.getN();
+        Arrays.fill(dist, Long.MIN_VALUE);
+        boolean[] hasIncoming = new boolean[n];
+        for (long e = 0; e < graph.getEdgeCount(); e++) {
+            hasIncoming[graph.target(e)] = true;
+        }
+        for (int v = 0; v < n; v++) {
+            if (!hasIncoming[v]) {
+                dist[v] = 0;
+            }
+        }
+
+        for (int u : topoOrder) {
+            if (dist[u] == Long.MIN_VALUE) {
+                continue;
+            }
+            for (long e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                paths.metrics.incrementRelaxations();
+                if (dist[u] + graph.weight(e) > dist[v]) {
+                    dist[v] = dist[u] + graph.weight(e);
+                    paths.parent[v] = u;
+                }
+            }
+        }
+
+        long best = Long.MIN_VALUE;
+        for (int v = 0; v < n; v++) {
+            if (dist[v] > best) {
+                best = dist[v];
+                paths.criticalEnd = v;
+            }
+        }
+
+        paths.metrics.setExecutionTime((System.nanoTime() - startTime) / 1_000_000.0);
+        return paths;
+    }
+
+    public long getDistance(int vertex) {
+        return dist[vertex];
+    }
+
+    public List<Integer> getPath(int vertex) {
+        if (!longest && dist[vertex] == UNREACHABLE) {
+            return Collections.emptyList();
+        }
+        List<Integer> path = new ArrayList<>();
+        for (int current = vertex; current != -1; current = parent[current]) {
+            path.add(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Longest path overall (longest mode only)
+     */
+    public List<Integer> getCriticalPath() {
+        return criticalEnd == -1 ? Collections.emptyList() : getPath(criticalEnd);
+    }
+
+    public long getCriticalLength() {
+        return criticalEnd == -1 ? Long.MIN_VALUE : dist[criticalEnd];
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,116 @@
+package graph.big;
+
+import graph.Graph;
+import graph.Graph.Edge;
+
+
+/**
+ * Read-only CSR graph for the big-graph mode. Vertex ids stay int (per-vertex
+ * arrays fit in one Java array), but edge offsets are long and the edge arrays
+ * are paged, so the number of edges is not limited to 2^31.
+ * Edges of u are targets/weights at offsets[u] .. offsets[u + 1].
+ */
+public class BigGraph {
+    private final int n;
+    private final long[] offsets;
+    private final BigIntArray targets;
+    private final BigIntArray weights;
+    private final int source;
+
+    BigGraph(int n, long[] offsets, BigIntArray targets, BigIntArray weights, int source) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.source = source;
+    }
+
+    /**
+     * Appends edges in any order and sorts them by source at build time
+     */
+    public static class Builder {
+        private final BigIntArray sources = new BigIntArray(0);
+        private final BigIntArray targets = new BigIntArray(0);
+        private final BigIntArray weights = new BigIntArray(0);
+        private long size;
+
+        public void addEdge(int u, int v, int weight) {
+            if (size == sources.length()) {
+                long capacity = Math.max(BigIntArray.PAGE_SIZE, size * 2);
+                sources.resize(capacity);
+                targets.resize(capacity);
+                weights.resize(capacity);
+            }
+            sources.set(size, u);
+            targets.set(size, v);
+            weights.set(size, weight);
+            size++;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        /**
+         * Counting sort by source; edges of a vertex keep insertion order
+         */
+        public BigGraph build(int n, int source) {
+            long[] offsets = new long[n + 1];
+            for (long e = 0; e < size; e++) {
+                offsets[sources.get(e) + 1]++;
+            }
+            for (int u = 0; u < n; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+
+            long[] next = new long[n];
+            System.arraycopy(offsets, 0, next, 0, n);
+            BigIntArray sortedTargets = new BigIntArray(size);
+            BigIntArray sortedWeights = new BigIntArray(size);
+            for (long e = 0; e < size; e++) {
+                long slot = next[sources.get(e)]++;
+                sortedTargets.set(slot, targets.get(e));
+                sortedWeights.set(slot, weights.get(e));
+            }
+            return new BigGraph(n, offsets, sortedTargets, sortedWeights, source);
+        }
+    }
+
+    public static BigGraph fromGraph(Graph g) {
+        Builder builder = new Builder();
+        for (int u = 0; u < g.getN(); u++) {
+            for (Edge edge : g.getAdjList()[u]) {
+                builder.addEdge(u, edge.to, edge.weight);
+            }
+        }
+        return builder.build(g.getN(), g.getSource());
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public long getEdgeCount() {
+        return offsets[n];
+    }
+
+    public long edgeStart(int u) {
+        return offsets[u];
+    }
+
+    public long edgeEnd(int u) {
+        return offsets[u + 1];
+    }
+
+    public int target(long e) {
+        return targets.get(e);
+    }
+
+    public int weight(long e) {
+        return weights.get(e);
+    }
+
+    public int getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,57 @@
+package graph.big;
+
+import java.util.Arrays;
+
+
+/**
+ * int array indexed by long, stored as fixed-size pages so it can grow past
+ * the 2^31 element limit of a single Java array
+ */
+public class BigIntArray {
+    static final int PAGE_SHIFT = 20;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private int[][] pages;
+    private long length;
+
+    public BigIntArray(long length) {
+        this.pages = new int[0][];
+        this.length = 0;
+        resize(length);
+    }
+
+    public int get(long i) {
+        return pages[(int) (i >>> PAGE_SHIFT)][(int) (i & PAGE_MASK)];
+    }
+
+    public void set(long i, int value) {
+        pages[(int) (i >>> PAGE_SHIFT)][(int) (i & PAGE_MASK)] = value;
+    }
+
+    /**
+     * Grow (never shrink) to the given length; new elements are zero
+     */
+    public void resize(long newLength) {
+        if (newLength <= length) {
+            return;
+        }
+        int pageCount = (int) ((newLength + PAGE_SIZE - 1) >>> PAGE_SHIFT);
+        if (pageCount > pages.length) {
+            int oldCount = pages.length;
+            pages = Arrays.copyOf(pages, pageCount);
+            for (int p = oldCount; p < pageCount; p++) {
+                pages[p] = new int[PAGE_SIZE];
+            }
+        }
+        length = newLength;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public long sizeInBytes() {
+        return (long) pages.length * PAGE_SIZE * Integer.BYTES;
+    }
+}
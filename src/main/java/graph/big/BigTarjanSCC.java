@@ -0,0 +1,96 @@
+package graph.big;
+
+import graph.scc.ComponentResult;
+import graph.scc.Metrics;
+import java.util.Arrays;
+
+
+/**
+ * Iterative Tarjan SCC for BigGraph: no recursion, long edge cursors and long
+ * counters. Produces the same canonical ComponentResult as TarjanSCC.
+ */
+public class BigTarjanSCC {
+    private final ComponentResult result;
+    private final Metrics metrics;
+
+    public BigTarjanSCC(BigGraph graph) {
+        int n = graph.getN();
+        int[] index = new int[n];
+        int[] lowlink = new int[n];
+        boolean[] onStack = new boolean[n];
+        long[] cursor = new long[n];
+        int[] callStack = new int[n];
+        int[] sccStack = new int[n];
+        int[] rawComponent = new int[n];
+        this.metrics = new Metrics();
+
+        Arrays.fill(index, -1);
+        int currentIndex = 0;
+        int rawCount = 0;
+        int sccTop = 0;
+
+        long startTime = System.nanoTime();
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int callTop = 0;
+            callStack[callTop++] = root;
+            index[root] = lowlink[root] = currentIndex++;
+            cursor[root] = graph.edgeStart(root);
+            sccStack[sccTop++] = root;
+            onStack[root] = true;
+            metrics.incrementDFSVisits();
+
+            while (callTop > 0) {
+                int v = callStack[callTop - 1];
+                if (cursor[v] < graph.edgeEnd(v)) {
+                    int w = graph.target(cursor[v]++);
+                    metrics.incrementEdgesExplored();
+                    if (index[w] == -1) {
+                        // Descend into w
+                        index[w] = lowlink[w] = currentIndex++;
+                        cursor[w] = graph.edgeStart(w);
+                        sccStack[sccTop++] = w;
+                        onStack[w] = true;
+                        callStack[callTop++] = w;
+                        metrics.incrementDFSVisits();
+                    } else if (onStack[w]) {
+                        lowlink[v] = Math.min(lowlink[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // All successors done: v is finished
+                callTop--;
+                if (lowlink[v] == index[v]) {
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        onStack[w] = false;
+                        rawComponent[w] = rawCount;
+                    } while (w != v);
+                    rawCount++;
+                }
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    lowlink[parent] = Math.min(lowlink[parent], lowlink[v]);
+                }
+            }
+        }
+
+        long endTime = System.nanoTime();
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+
+        this.result = ComponentResult.fromRawIds(rawComponent, rawCount);
+    }
+
+    public ComponentResult getResult() {
+        return result;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,71 @@
+package graph.big;
+
+import graph.topo.Metrics;
+import java.util.Arrays;
+
+
+/**
+ * Kahn's algorithm for BigGraph with a primitive FIFO queue.
+ * The resulting order is the same as TopologicalSort on the equivalent Graph.
+ */
+public class BigTopologicalSort {
+    private final int[] order;
+    private final boolean isDAG;
+    private final Metrics metrics;
+
+    public BigTopologicalSort(BigGraph graph) {
+        int n = graph.getN();
+        this.metrics = new Metrics();
+
+        long startTime = System.nanoTime();
+
+        int[] inDegree = new int[n];
+        for (long e = 0; e < graph.getEdgeCount(); e++) {
+            int v = graph.target(e);
+            if (inDegree[v] == Integer.MAX_VALUE) {
+                throw new IllegalStateException("In-degree of vertex " + v + " exceeds int range");
+            }
+            inDegree[v]++;
+        }
+
+        // The queue array doubles as the output order
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                queue[tail++] = v;
+                metrics.incrementPushes();
+            }
+        }
+        while (head < tail) {
+            int u = queue[head++];
+            metrics.incrementPops();
+            for (long e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                if (--inDegree[v] == 0) {
+                    queue[tail++] = v;
+                    metrics.incrementPushes();
+                }
+            }
+        }
+
+        this.order = tail == n ? queue : Arrays.copyOf(queue, tail);
+        this.isDAG = tail == n;
+
+        long endTime = System.nanoTime();
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+    }
+
+    public int[] getOrder() {
+        return order;
+    }
+
+    public boolean isDAG() {
+        return isDAG;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,74 @@
+package graph.cc;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+
+/**
+ * Lock-free union-find over 0..n-1.
+ * A root is only ever linked under a smaller root with a single CAS, so the
+ * parent pointers never form a cycle and the final root of every set is its
+ * smallest element, whatever order threads perform the unions in.
+ * find() compresses with path halving, also by CAS; a lost race only means
+ * the pointer was already updated by someone else.
+ */
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentUnionFind(int n) {
+        this.parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    /**
+     * Merge the sets of a and b; returns false if they were already one set
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+            int low = Math.min(rootA, rootB);
+            int high = Math.max(rootA, rootB);
+            // Fails if high stopped being a root meanwhile; retry from the new roots
+            if (parent.compareAndSet(high, high, low)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean connected(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return true;
+            }
+            // rootA is still a root, so the two really were apart at this point
+            if (parent.get(rootA) == rootA) {
+                return false;
+            }
+        }
+    }
+
+    public int size() {
+        return parent.length();
+    }
+}
@@ -0,0 +1,83 @@
+package graph.cc;
+
+import graph.UndirectedGraph;
+import graph.scc.ComponentResult;
+import java.util.*;
+import java.util.stream.IntStream;
+
+
+/**
+ * Connected components of an undirected graph with a ConcurrentUnionFind.
+ * Edges are unioned in fixed-size blocks on the common pool and every vertex is
+ * then labelled with its root in parallel. Roots are the smallest vertex of each
+ * set, so the labels feed ComponentResult directly and the result has the
+ * same canonical form and accessors as TarjanSCC and KosarajuSCC.
+ */
+public class ConnectedComponents {
+    // Edges per parallel task
+    static final int BLOCK = 1 << 16;
+
+    private final ComponentResult result;
+    private final Metrics metrics;
+
+    public ConnectedComponents(UndirectedGraph graph) {
+        this(graph, true);
+    }
+
+    public ConnectedComponents(UndirectedGraph graph, boolean parallel) {
+        int n = graph.getN();
+        int m = graph.getEdgeCount();
+        this.metrics = new Metrics();
+
+        long startTime = System.nanoTime();
+
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(n);
+        IntStream blocks = IntStream.range(0, (int) (((long) m + BLOCK - 1) / BLOCK));
+        if (parallel) {
+            blocks = blocks.parallel();
+        }
+        long unions = blocks.mapToLong(b -> {
+            long merged = 0;
+            // long arithmetic: the last block may end past Integer.MAX_VALUE
+            int end = (int) Math.min(m, (b + 1L) * BLOCK);
+            for (int e = b * BLOCK; e < end; e++) {
+                if (unionFind.union(graph.getU(e), graph.getV(e))) {
+                    merged++;
+                }
+            }
+            return merged;
+        }).sum();
+
+        int[] root = new int[n];
+        IntStream vertices = IntStream.range(0, n);
+        if (parallel) {
+            vertices = vertices.parallel();
+        }
+        vertices.forEach(v -> root[v] = unionFind.find(v));
+        this.result = ComponentResult.fromRawIds(root, n);
+
+        long endTime = System.nanoTime();
+        metrics.addUnions(unions);
+        metrics.addFinds(2L * m + n);
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+    }
+
+    /**
+     * Boxed view of the components, built on first use
+     */
+    public List<List<Integer>> getComponents() {
+        return result.asLists();
+    }
+
+    public ComponentResult getResult() {
+        return result;
+    }
+
+    public int[] getNodeToComponent() {
+        return result.getComponentOf();
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,44 @@
+package graph.cc;
+
+
+public class Metrics {
+    private long unions;
+    private long finds;
+    private double executionTime;
+
+    public Metrics() {
+        this.unions = 0;
+        this.finds = 0;
+        this.executionTime = 0.0;
+    }
+
+    public void addUnions(long count) {
+        unions += count;
+    }
+
+    public void addFinds(long count) {
+        finds += count;
+    }
+
+    public void setExecutionTime(double time) {
+        this.executionTime = time;
+    }
+
+    public long getUnions() {
+        return unions;
+    }
+
+    public long getFinds() {
+        return finds;
+    }
+
+    public double getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Unions: %d, Finds: %d, Time: %.3f ms",
+                unions, finds, executionTime);
+    }
+}
@@ -0,0 +1,238 @@
+package graph.cc;
+
+import graph.Graph;
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.ComponentResult;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import java.util.*;
+import java.util.stream.IntStream;
+
+
+/**
+ * Runs the SCC / topological sort / DAG path pipeline separately on every weakly
+ * connected component and merges the results back into global ids.
+ *
+ * No edge crosses weak components, so the per-part results compose exactly:
+ * the merged SCCs equal TarjanSCC on the whole graph (same canonical numbering),
+ * and a FIFO Kahn order restricted to one part is that part's own Kahn order,
+ * so distances and parents equal the monolithic DAG classes as well.
+ * Path DPs run on every part that is a DAG, even when other parts have cycles.
+ */
+public class SplitPipeline {
+    private final WeakComponents weak;
+    private final ComponentResult components;
+    private final int[] condensationOrder;
+    private final boolean isDAG;
+    private final int[] shortestDistances;   // null if the source's part is cyclic or there is no source
+    private final int[] shortestParents;
+    private final List<Integer> criticalPath;
+    private final int criticalLength;
+    private final double pipelineTime;
+
+    /**
+     * Results of one weak component, in its local ids
+     */
+    private static class Part {
+        int[] sccOf;                 // local canonical SCC of every local vertex
+        int sccCount;
+        int[] condensationOrder;     // local SCC ids
+        boolean isDAG;
+        DAGShortestPath shortest;
+        DAGLongestPath longest;
+    }
+
+    public SplitPipeline(Graph graph) {
+        this(graph, false);
+    }
+
+    /**
+     * With parallel = true both the union-find and the parts run on the common pool
+     */
+    public SplitPipeline(Graph graph, boolean parallel) {
+        int n = graph.getN();
+        this.weak = new WeakComponents(graph, parallel);
+        int parts = weak.getComponentCount();
+
+        long startTime = System.nanoTime();
+
+        Part[] results = new Part[parts];
+        IntStream range = IntStream.range(0, parts);
+        if (parallel) {
+            range = range.parallel();
+        }
+        range.forEach(c -> results[c] = runPart(weak.extract(c)));
+
+        // Merge SCCs: offset each part's ids, then canonicalize once
+        int[] base = new int[parts + 1];
+        for (int c = 0; c < parts; c++) {
+            base[c + 1] = base[c] + results[c].sccCount;
+        }
+        int[] rawId = new int[n];
+        for (int v = 0; v < n; v++) {
+            int c = weak.getResult().getComponentOf(v);
+            rawId[v] = base[c] + results[c].sccOf[weak.getLocalIndex(v)];
+        }
+        this.components = ComponentResult.fromRawIds(rawId, base[parts]);
+
+        // Concatenate the condensation orders, mapping local SCC ids through a member vertex
+        this.condensationOrder = new int[base[parts]];
+        boolean allDAG = true;
+        for (int c = 0, k = 0; c < parts; c++) {
+            Part part = results[c];
+            int[] globalScc = new int[part.sccCount];
+            for (int i = 0; i < part.sccOf.length; i++) {
+                globalScc[part.sccOf[i]] = components.getComponentOf(weak.toGlobal(c, i));
+            }
+            for (int local : part.condensationOrder) {
+                condensationOrder[k++] = globalScc[local];
+            }
+            allDAG &= part.isDAG;
+        }
+        this.isDAG = allDAG;
+
+        // Shortest paths live entirely in the source's part
+        int source = graph.getSource();
+        Part sourcePart = source >= 0 && source < n ? results[weak.getResult().getComponentOf(source)] : null;
+        if (sourcePart != null && sourcePart.shortest != null) {
+            int c = weak.getResult().getComponentOf(source);
+            shortestDistances = new int[n];
+            shortestParents = new int[n];
+            Arrays.fill(shortestDistances, Integer.MAX_VALUE);
+            Arrays.fill(shortestParents, -1);
+            for (int i = 0; i < sourcePart.sccOf.length; i++) {
+                int v = weak.toGlobal(c, i);
+                shortestDistances[v] = sourcePart.shortest.getDistance(i);
+                int parent = sourcePart.shortest.getParent(i);
+                if (parent != -1) {
+                    shortestParents[v] = weak.toGlobal(c, parent);
+                }
+            }
+        } else {
+            shortestDistances = null;
+            shortestParents = null;
+        }
+
+        // Longest path over all acyclic parts; ties go to the smaller end vertex
+        int bestLength = Integer.MIN_VALUE;
+        int bestEnd = -1;
+        int bestPart = -1;
+        for (int c = 0; c < parts; c++) {
+            DAGLongestPath longest = results[c].longest;
+            if (longest == null || longest.getCriticalPath().isEmpty()) {
+                continue;
+            }
+            List<Integer> path = longest.getCriticalPath();
+            int end = weak.toGlobal(c, path.get(path.size() - 1));
+            if (longest.getCriticalLength() > bestLength
+                    || (longest.getCriticalLength() == bestLength && end < bestEnd)) {
+                bestLength = longest.getCriticalLength();
+                bestEnd = end;
+                bestPart = c;
+            }
+        }
+        this.criticalLength = bestLength;
+        this.criticalPath = new ArrayList<>();
+        if (bestPart != -1) {
+            for (int local : results[bestPart].longest.getCriticalPath()) {
+                criticalPath.add(weak.toGlobal(bestPart, local));
+            }
+        }
+
+        long endTime = System.nanoTime();
+        this.pipelineTime = (endTime - startTime) / 1_000_000.0;
+    }
+
+    private static Part runPart(Graph subgraph) {
+        Part part = new Part();
+        TarjanSCC tarjan = new TarjanSCC(subgraph);
+        ComponentResult local = tarjan.getResult();
+        part.sccOf = local.getComponentOf();
+        part.sccCount = local.getComponentCount();
+
+        TopologicalSort condensationTopo = new TopologicalSort(tarjan.buildCondensation());
+        List<Integer> order = condensationTopo.getOrder();
+        part.condensationOrder = new int[order.size()];
+        for (int i = 0; i < order.size(); i++) {
+            part.condensationOrder[i] = order.get(i);
+        }
+
+        if (part.sccCount == subgraph.getN()) {
+            TopologicalSort topo = new TopologicalSort(subgraph);
+            part.isDAG = topo.isDAG();
+            if (part.isDAG) {
+                if (subgraph.getSource() != -1) {
+                    part.shortest = new DAGShortestPath(subgraph, subgraph.getSource(), topo.getOrder());
+                }
+                part.longest = new DAGLongestPath(subgraph, topo.getOrder());
+            }
+        }
+        return part;
+    }
+
+    public WeakComponents getWeakComponents() {
+        return weak;
+    }
+
+    public ComponentResult getComponents() {
+        return components;
+    }
+
+    /**
+     * A topological order of the condensation, in global SCC ids, part by part
+     */
+    public int[] getCondensationOrder() {
+        return condensationOrder;
+    }
+
+    public boolean isDAG() {
+        return isDAG;
+    }
+
+    public boolean hasShortestPaths() {
+        return shortestDistances != null;
+    }
+
+    public int getDistance(int v) {
+        return shortestDistances[v];
+    }
+
+    public int[] getAllDistances() {
+        return shortestDistances;
+    }
+
+    /**
+     * Predecessor of v on its shortest path; -1 for the source and unreachable vertices
+     */
+    public int getParent(int v) {
+        return shortestParents[v];
+    }
+
+    public List<Integer> getShortestPath(int v) {
+        if (shortestDistances == null || shortestDistances[v] == Integer.MAX_VALUE) {
+            return Collections.emptyList();
+        }
+        List<Integer> path = new ArrayList<>();
+        for (int current = v; current != -1; current = shortestParents[current]) {
+            path.add(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public List<Integer> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public int getCriticalLength() {
+        return criticalLength;
+    }
+
+    /**
+     * Milliseconds for the per-part pipeline and the merge, excluding the split
+     */
+    public double getPipelineTime() {
+        return pipelineTime;
+    }
+}
@@ -0,0 +1,123 @@
+package graph.cc;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import graph.scc.ComponentResult;
+import java.util.*;
+import java.util.stream.IntStream;
+
+
+/**
+ * Weakly connected components (edge direction ignored) found with a
+ * ConcurrentUnionFind, unioning each vertex's out-edges in parallel.
+ * Components are canonical as in ComponentResult: numbered by smallest
+ * vertex, members ascending.
+ */
+public class WeakComponents {
+    private final Graph graph;
+    private final ComponentResult result;
+    private final int[] localIndex; // position of v within its component's members
+    private final Metrics metrics;
+
+    public WeakComponents(Graph graph) {
+        this(graph, false);
+    }
+
+    public WeakComponents(Graph graph, boolean parallel) {
+        this.graph = graph;
+        this.metrics = new Metrics();
+        int n = graph.getN();
+        List<Edge>[] adj = graph.getAdjList();
+
+        long startTime = System.nanoTime();
+
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(n);
+        IntStream vertices = IntStream.range(0, n);
+        if (parallel) {
+            vertices = vertices.parallel();
+        }
+        long unions = vertices.mapToLong(u -> {
+            long merged = 0;
+            for (Edge edge : adj[u]) {
+                if (unionFind.union(u, edge.to)) {
+                    merged++;
+                }
+            }
+            return merged;
+        }).sum();
+
+        // Roots are the smallest vertex of each set
+        int[] rawId = new int[n];
+        int[] rootId = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int root = unionFind.find(v);
+            if (root == v) {
+                rootId[v] = count++;
+            }
+            rawId[v] = rootId[root];
+        }
+        this.result = ComponentResult.fromRawIds(rawId, count);
+
+        this.localIndex = new int[n];
+        int[] offsets = result.getOffsets();
+        int[] members = result.getMembers();
+        for (int c = 0; c < count; c++) {
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                localIndex[members[i]] = i - offsets[c];
+            }
+        }
+
+        long endTime = System.nanoTime();
+        metrics.addUnions(unions);
+        metrics.addFinds(2L * graph.getEdgeCount() + n);
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+    }
+
+    /**
+     * Component c as a standalone graph; vertex i is getMembers-slice element i,
+     * so local ids keep the global relative order and every adjacency list keeps
+     * its edge order. The source is mapped too, or -1 if it lies elsewhere.
+     */
+    public Graph extract(int c) {
+        int[] offsets = result.getOffsets();
+        int[] members = result.getMembers();
+        int from = offsets[c];
+        int size = offsets[c + 1] - from;
+
+        Graph subgraph = new Graph(size, graph.isDirected());
+        subgraph.setWeightModel(graph.getWeightModel());
+        int source = graph.getSource();
+        subgraph.setSource(source >= 0 && source < graph.getN() && result.getComponentOf(source) == c
+                ? localIndex[source] : -1);
+        for (int i = 0; i < size; i++) {
+            for (Edge edge : graph.getAdjList()[members[from + i]]) {
+                subgraph.addArc(i, localIndex[edge.to], edge.weight);
+            }
+        }
+        return subgraph;
+    }
+
+    /**
+     * Global id of local vertex i of component c
+     */
+    public int toGlobal(int c, int i) {
+        return result.getMembers()[result.getOffsets()[c] + i];
+    }
+
+    public int getLocalIndex(int v) {
+        return localIndex[v];
+    }
+
+    public ComponentResult getResult() {
+        return result;
+    }
+
+    public int getComponentCount() {
+        return result.getComponentCount();
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,297 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import graph.util.IntMinHeap;
+import java.util.*;
+import java.util.stream.IntStream;
+
+
+/**
+ * Critical path method over a DAG of tasks with per-task durations.
+ * Under the "edge" weight model an edge weight is a lag between the predecessor
+ * finishing and the successor starting; under any other model there is no lag.
+ *
+ * A forward sweep computes earliest starts (ES) and a backward sweep computes
+ * tails: a task's duration plus the heaviest chain of lags and durations after it.
+ * With the project length L, latest start is L - tail and slack is
+ * L - ES - tail, so every per-task query is O(1).
+ *
+ * setDuration() repairs only the affected cones: ES of the descendants
+ * and tails of the ancestors, stopping wherever a value does not change.
+ */
+public class CriticalPathMethod {
+    private final int n;
+    private final long[] duration;
+    private final long[] earliestStart;
+    private final long[] tail;
+    private final int[] order;
+    private final int[] pos;
+    private final int[] offsets;   // successors of u are targets[offsets[u] .. offsets[u + 1])
+    private final int[] targets;
+    private final long[] lags;
+    private final boolean edgeLags;
+    private final Graph graph;
+    private final List<Integer> topoOrder;
+    private TopoLevels levels;     // pull-side view, built for parallel mode or the first update
+    private IntMinHeap heap;       // update worklist, keyed by (negated) topological position
+
+    // Project length, maintained over tasks without predecessors
+    private final long[] sourceTail;
+    private long projectLength;
+
+    private final Metrics metrics;
+
+    public CriticalPathMethod(Graph graph, List<Integer> topoOrder, int[] durations) {
+        this(graph, topoOrder, durations, false);
+    }
+
+    /**
+     * With parallel = true both sweeps run level by level, large levels on
+     * a parallel stream. Results are identical to the sequential sweeps.
+     */
+    public CriticalPathMethod(Graph graph, List<Integer> topoOrder, int[] durations, boolean parallel) {
+        this.n = graph.getN();
+        if (topoOrder.size() != n) {
+            throw new IllegalArgumentException("Critical path method requires a DAG");
+        }
+        this.graph = graph;
+        this.topoOrder = topoOrder;
+        this.edgeLags = "edge".equals(graph.getWeightModel());
+        this.duration = new long[n];
+        this.earliestStart = new long[n];
+        this.tail = new long[n];
+        this.sourceTail = new long[n];
+        this.order = new int[n];
+        this.pos = new int[n];
+        this.metrics = new Metrics();
+
+        for (int v = 0; v < n; v++) {
+            duration[v] = durations[v];
+        }
+        for (int i = 0; i < n; i++) {
+            order[i] = topoOrder.get(i);
+            pos[order[i]] = i;
+        }
+
+        // Flatten the adjacency
+        this.offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + graph.getAdjList()[u].size();
+        }
+        this.targets = new int[offsets[n]];
+        this.lags = new long[offsets[n]];
+        for (int u = 0, e = 0; u < n; u++) {
+            for (Edge edge : graph.getAdjList()[u]) {
+                targets[e] = edge.to;
+                lags[e++] = edgeLags ? edge.weight : 0;
+            }
+        }
+
+        long startTime = System.nanoTime();
+        if (parallel) {
+            sweepParallel();
+        } else {
+            sweep();
+        }
+        computeProjectLength();
+        long endTime = System.nanoTime();
+
+        metrics.setRelaxations(2L * targets.length);
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+    }
+
+
+    private void sweep() {
+        // Forward: push earliest finish + lag into successors
+        for (int u : order) {
+            long finish = earliestStart[u] + duration[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                earliestStart[v] = Math.max(earliestStart[v], finish + lags[e]);
+            }
+        }
+
+        // Backward: pull the heaviest tail from successors
+        for (int i = n - 1; i >= 0; i--) {
+            pullTail(order[i]);
+        }
+    }
+
+    private void sweepParallel() {
+        TopoLevels levels = levels();
+
+        for (int k = 0; k < levels.levelCount(); k++) {
+            levelRange(levels, k).forEach(i -> pullEarliestStart(levels.levelVertices[i]));
+        }
+        // Successors are always on later levels
+        for (int k = levels.levelCount() - 1; k >= 0; k--) {
+            levelRange(levels, k).forEach(i -> pullTail(levels.levelVertices[i]));
+        }
+    }
+
+    private IntStream levelRange(TopoLevels levels, int k) {
+        int from = levels.levelOffsets[k];
+        int to = levels.levelOffsets[k + 1];
+        IntStream range = IntStream.range(from, to);
+        return to - from >= DAGShortestPath.PARALLEL_THRESHOLD ? range.parallel() : range;
+    }
+
+    private boolean pullEarliestStart(int v) {
+        long best = 0;
+        for (int e = levels.inOffsets[v]; e < levels.inOffsets[v + 1]; e++) {
+            int u = levels.inSources[e];
+            long lag = edgeLags ? levels.inWeights[e] : 0;
+            best = Math.max(best, earliestStart[u] + duration[u] + lag);
+        }
+        boolean changed = earliestStart[v] != best;
+        earliestStart[v] = best;
+        return changed;
+    }
+
+    private boolean pullTail(int u) {
+        long best = 0;
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            best = Math.max(best, lags[e] + tail[targets[e]]);
+        }
+        best += duration[u];
+        boolean changed = tail[u] != best;
+        tail[u] = best;
+        return changed;
+    }
+
+    private TopoLevels levels() {
+        if (levels == null) {
+            levels = new TopoLevels(graph, topoOrder);
+        }
+        return levels;
+    }
+
+    private void computeProjectLength() {
+        boolean[] hasPredecessor = new boolean[n];
+        for (int v : targets) {
+            hasPredecessor[v] = true;
+        }
+        projectLength = 0;
+        for (int v = 0; v < n; v++) {
+            sourceTail[v] = hasPredecessor[v] ? Long.MIN_VALUE : tail[v];
+            projectLength = Math.max(projectLength, sourceTail[v]);
+        }
+    }
+
+
+    /**
+     * Change one task's duration and repair ES and tails incrementally.
+     * Returns the number of tasks whose ES or tail was recomputed.
+     */
+    public int setDuration(int v, int newDuration) {
+        long startTime = System.nanoTime();
+        long relaxations = 0;
+        int recomputed = 0;
+        TopoLevels levels = levels();
+        duration[v] = newDuration;
+
+        // Forward cone: successors' earliest starts, in topological order
+        if (heap == null) {
+            heap = new IntMinHeap(n);
+        }
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            heap.insertOrDecrease(targets[e], pos[targets[e]]);
+        }
+        while (!heap.isEmpty()) {
+            int w = heap.pop();
+            recomputed++;
+            relaxations += levels.inOffsets[w + 1] - levels.inOffsets[w];
+            if (pullEarliestStart(w)) {
+                for (int e = offsets[w]; e < offsets[w + 1]; e++) {
+                    heap.insertOrDecrease(targets[e], pos[targets[e]]);
+                }
+            }
+        }
+
+        // Backward cone: tails of v and its ancestors, in reverse topological order
+        heap.insert(v, -pos[v]);
+        boolean rescan = false;
+        while (!heap.isEmpty()) {
+            int w = heap.pop();
+            recomputed++;
+            relaxations += offsets[w + 1] - offsets[w];
+            if (pullTail(w)) {
+                if (sourceTail[w] != Long.MIN_VALUE) {
+                    // Only a shrinking source that defined L forces a full rescan
+                    rescan |= sourceTail[w] == projectLength && tail[w] < projectLength;
+                    sourceTail[w] = tail[w];
+                    projectLength = Math.max(projectLength, tail[w]);
+                }
+                for (int e = levels.inOffsets[w]; e < levels.inOffsets[w + 1]; e++) {
+                    int u = levels.inSources[e];
+                    heap.insertOrDecrease(u, -pos[u]);
+                }
+            }
+        }
+
+        if (rescan) {
+            projectLength = 0;
+            for (long t : sourceTail) {
+                projectLength = Math.max(projectLength, t);
+            }
+        }
+
+        metrics.setRelaxations(relaxations);
+        metrics.setExecutionTime((System.nanoTime() - startTime) / 1_000_000.0);
+        return recomputed;
+    }
+
+    public long getProjectLength() {
+        return projectLength;
+    }
+
+    public long getDuration(int v) {
+        return duration[v];
+    }
+
+    public long getEarliestStart(int v) {
+        return earliestStart[v];
+    }
+
+    public long getEarliestFinish(int v) {
+        return earliestStart[v] + duration[v];
+    }
+
+    public long getLatestStart(int v) {
+        return projectLength - tail[v];
+    }
+
+    public long getLatestFinish(int v) {
+        return projectLength - tail[v] + duration[v];
+    }
+
+    public long getSlack(int v) {
+        return projectLength - earliestStart[v] - tail[v];
+    }
+
+    public boolean isCritical(int v) {
+        return getSlack(v) == 0;
+    }
+
+    /**
+     * All tasks with zero slack, in topological order
+     */
+    public int[] getCriticalTasks() {
+        int count = 0;
+        int[] critical = new int[n];
+        for (int v : order) {
+            if (isCritical(v)) {
+                critical[count++] = v;
+            }
+        }
+        return Arrays.copyOf(critical, count);
+    }
+
+    /**
+     * Metrics of the last sweep or update
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
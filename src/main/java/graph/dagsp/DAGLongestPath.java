@@ -2,7 +2,9 @@ package graph.dagsp;
 
 import graph.Graph;
 import graph.Graph.Edge;
+import graph.util.MemoryMeter;
 import java.util.*;
+import java.util.stream.IntStream;
 
 public class DAGLongestPath {
     private final Graph graph;
@@ -13,6 +15,26 @@ public class DAGLongestPath {
     private final graph.dagsp.Metrics metrics;
 
     public DAGLongestPath(Graph graph, List<Integer> topoOrder) {
+        this(graph, topoOrder, false);
+    }
+
+    /**
+     * With parallel = true, vertices are processed level by level and each one pulls
+     * its distance from its in-edges. Results are identical to the sequential sweep.
+     */
+    public DAGLongestPath(Graph graph, List<Integer> topoOrder, boolean parallel) {
+        this(graph, topoOrder, parallel, null);
+    }
+
+    /**
+     * Sequential sweep that takes path starts from precomputed in-degrees
+     */
+    public DAGLongestPath(Graph graph, List<Integer> topoOrder, int[] inDegree) {
+        this(graph, topoOrder, false, inDegree);
+    }
+
+    private DAGLongestPath(Graph graph, List<Integer> topoOrder, boolean parallel, int[] inDegree) {
+        long allocationStart = MemoryMeter.allocatedBytes();
         this.graph = graph;
         this.dist = new int[graph.getN()];
         this.parent = new int[graph.getN()];
@@ -22,25 +44,40 @@ public class DAGLongestPath {
         Arrays.fill(parent, -1);
 
         long startTime = System.nanoTime();
-        computeLongestPaths(topoOrder);
+        if (parallel) {
+            computeLongestPathsParallel(topoOrder);
+        } else {
+            computeLongestPaths(topoOrder, inDegree);
+        }
         long endTime = System.nanoTime();
 
         metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+        // The counter only sees the calling thread, so pool-thread work would go missing
+        metrics.setAllocatedBytes(parallel ? -1 : MemoryMeter.allocatedSince(allocationStart));
+        metrics.setRetainedBytes(2 * MemoryMeter.intArray(graph.getN()) + MemoryMeter.integerList(criticalPath));
     }
 
 
-    private void computeLongestPaths(List<Integer> topoOrder) {
+    private void computeLongestPaths(List<Integer> topoOrder, int[] inDegree) {
         // Initialize distances for source nodes (no incoming edges)
-        boolean[] hasIncoming = new boolean[graph.getN()];
-        for (int u = 0; u < graph.getN(); u++) {
-            for (Edge edge : graph.getAdjList()[u]) {
-                hasIncoming[edge.to] = true;
+        if (inDegree != null) {
+            for (int i = 0; i < graph.getN(); i++) {
+                if (inDegree[i] == 0) {
+                    dist[i] = 0;
+                }
+            }
+        } else {
+            boolean[] hasIncoming = new boolean[graph.getN()];
+            for (int u = 0; u < graph.getN(); u++) {
+                for (Edge edge : graph.getAdjList()[u]) {
+                    hasIncoming[edge.to] = true;
+                }
             }
-        }
 
-        for (int i = 0; i < graph.getN(); i++) {
-            if (!hasIncoming[i]) {
-                dist[i] = 0;
+            for (int i = 0; i < graph.getN(); i++) {
+                if (!hasIncoming[i]) {
+                    dist[i] = 0;
+                }
             }
         }
 
@@ -60,6 +97,51 @@ public class DAGLongestPath {
             }
         }
 
+        findCriticalPath();
+    }
+
+
+    private void computeLongestPathsParallel(List<Integer> topoOrder) {
+        TopoLevels levels = new TopoLevels(graph, topoOrder);
+
+        for (int k = 0; k < levels.levelCount(); k++) {
+            int from = levels.levelOffsets[k];
+            int to = levels.levelOffsets[k + 1];
+            IntStream range = IntStream.range(from, to);
+            if (to - from >= DAGShortestPath.PARALLEL_THRESHOLD) {
+                range = range.parallel();
+            }
+            metrics.addRelaxations(range.map(i -> pull(levels, levels.levelVertices[i])).sum());
+        }
+
+        findCriticalPath();
+    }
+
+    private int pull(TopoLevels levels, int v) {
+        int start = levels.inOffsets[v];
+        int end = levels.inOffsets[v + 1];
+
+        // Vertices without incoming edges start a path of length 0
+        int relaxations = 0;
+        int best = start == end ? 0 : Integer.MIN_VALUE;
+        int bestParent = -1;
+        for (int e = start; e < end; e++) {
+            int u = levels.inSources[e];
+            if (u >= 0 && dist[u] != Integer.MIN_VALUE) {
+                relaxations++;
+                if (dist[u] + levels.inWeights[e] > best) {
+                    best = dist[u] + levels.inWeights[e];
+                    bestParent = u;
+                }
+            }
+        }
+        dist[v] = best;
+        parent[v] = bestParent;
+        return relaxations;
+    }
+
+
+    private void findCriticalPath() {
         // Find the critical path (longest path ending anywhere)
         criticalLength = Integer.MIN_VALUE;
         int endNode = -1;
@@ -84,6 +166,24 @@ public class DAGLongestPath {
     }
 
 
+    /**
+     * Bottom level of every vertex: the longest path from it to any sink
+     * (remaining work once it is reached). Same DP as above, run backwards.
+     */
+    public static long[] bottomLevels(Graph graph, List<Integer> topoOrder) {
+        long[] level = new long[graph.getN()];
+        for (int i = topoOrder.size() - 1; i >= 0; i--) {
+            int u = topoOrder.get(i);
+            long best = 0;
+            for (Edge edge : graph.getAdjList()[u]) {
+                best = Math.max(best, edge.weight + level[edge.to]);
+            }
+            level[u] = best;
+        }
+        return level;
+    }
+
+
     public List<Integer> getCriticalPath() {
         return criticalPath;
     }
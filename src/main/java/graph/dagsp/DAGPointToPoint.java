@@ -0,0 +1,167 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import java.util.*;
+
+
+/**
+ * Single source -> target shortest path queries on a fixed DAG.
+ * A query only sweeps the topological window pos[source] .. pos[target] and
+ * skips edges into vertices that cannot reach the target: anything after the
+ * target in the order, and anything whose level (longest hop count from a
+ * vertex without predecessors) is not below the target's, since every edge
+ * strictly increases the level. The sweep stops as soon as no reached vertex
+ * is left before the target, at which point the target's distance is final.
+ * Distances and parents match DAGShortestPath over the same topological order.
+ */
+public class DAGPointToPoint {
+    private final int n;
+    private final int[] order;
+    private final int[] pos;
+    private final int[] level;
+    private final int[] offsets;   // out-edges of u are at offsets[u] .. offsets[u+1], in adjacency order
+    private final int[] targets;
+    private final int[] weights;
+
+    // Per-query state, reset lazily by stamping instead of clearing
+    private final int[] dist;
+    private final int[] parent;
+    private final int[] stamp;
+    private int currentStamp;
+
+    private int lastSource = -1;
+    private int lastTarget = -1;
+    private final Metrics metrics;
+
+    public DAGPointToPoint(Graph graph, List<Integer> topoOrder) {
+        this.n = graph.getN();
+        if (topoOrder.size() != n) {
+            throw new IllegalArgumentException("Point-to-point queries require a DAG");
+        }
+        List<Edge>[] adj = graph.getAdjList();
+        this.order = new int[n];
+        this.pos = new int[n];
+        this.level = new int[n];
+        this.offsets = new int[n + 1];
+
+        for (int i = 0; i < n; i++) {
+            order[i] = topoOrder.get(i);
+            pos[order[i]] = i;
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + adj[u].size();
+        }
+        this.targets = new int[offsets[n]];
+        this.weights = new int[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            int e = offsets[u];
+            for (Edge edge : adj[u]) {
+                targets[e] = edge.to;
+                weights[e++] = edge.weight;
+            }
+        }
+        for (int u : order) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                level[targets[e]] = Math.max(level[targets[e]], level[u] + 1);
+            }
+        }
+
+        this.dist = new int[n];
+        this.parent = new int[n];
+        this.stamp = new int[n];
+        this.metrics = new Metrics();
+    }
+
+    /**
+     * Shortest distance from source to target, Integer.MAX_VALUE if unreachable
+     */
+    public int getDistance(int source, int target) {
+        query(source, target);
+        return reached(target) ? dist[target] : Integer.MAX_VALUE;
+    }
+
+    public List<Integer> getPath(int source, int target) {
+        query(source, target);
+        if (!reached(target)) {
+            return Collections.emptyList();
+        }
+
+        List<Integer> path = new ArrayList<>();
+        for (int current = target; current != -1; current = parent[current]) {
+            path.add(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Relaxations and time of the most recent query
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+
+    private void query(int source, int target) {
+        if (source == lastSource && target == lastTarget) {
+            return;
+        }
+        lastSource = source;
+        lastTarget = target;
+
+        long startTime = System.nanoTime();
+        long relaxations = 0;
+        nextStamp();
+
+        dist[source] = 0;
+        parent[source] = -1;
+        stamp[source] = currentStamp;
+
+        int end = pos[target];
+        int targetLevel = level[target];
+        // Reached vertices strictly before the target that are not processed yet
+        int open = source != target && pos[source] < end ? 1 : 0;
+
+        for (int i = pos[source]; i < end && open > 0; i++) {
+            int u = order[i];
+            if (!reached(u)) {
+                continue;
+            }
+            open--;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (v != target && (pos[v] > end || level[v] >= targetLevel)) {
+                    continue;
+                }
+                relaxations++;
+                int candidate = dist[u] + weights[e];
+                if (!reached(v)) {
+                    stamp[v] = currentStamp;
+                    dist[v] = candidate;
+                    parent[v] = u;
+                    if (v != target) {
+                        open++;
+                    }
+                } else if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    parent[v] = u;
+                }
+            }
+        }
+
+        metrics.setRelaxations(relaxations);
+        metrics.setExecutionTime((System.nanoTime() - startTime) / 1_000_000.0);
+    }
+
+    private boolean reached(int v) {
+        return stamp[v] == currentStamp;
+    }
+
+    private void nextStamp() {
+        if (++currentStamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            currentStamp = 1;
+        }
+    }
+}
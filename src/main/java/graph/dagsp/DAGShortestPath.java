@@ -2,7 +2,9 @@ package graph.dagsp;
 
 import graph.Graph;
 import graph.Graph.Edge;
+import graph.util.MemoryMeter;
 import java.util.*;
+import java.util.stream.IntStream;
 
 
 public class DAGShortestPath {
@@ -12,7 +14,19 @@ public class DAGShortestPath {
     private int[] parent;
     private graph.dagsp.Metrics metrics;
 
+    // Levels narrower than this are processed on the calling thread
+    static final int PARALLEL_THRESHOLD = 1024;
+
     public DAGShortestPath(Graph graph, int source, List<Integer> topoOrder) {
+        this(graph, source, topoOrder, false);
+    }
+
+    /**
+     * With parallel = true, vertices are processed level by level and each one pulls
+     * its distance from its in-edges. Results are identical to the sequential sweep.
+     */
+    public DAGShortestPath(Graph graph, int source, List<Integer> topoOrder, boolean parallel) {
+        long allocationStart = MemoryMeter.allocatedBytes();
         this.graph = graph;
         this.source = source;
         this.dist = new int[graph.getN()];
@@ -23,10 +37,17 @@ public class DAGShortestPath {
         Arrays.fill(parent, -1);
 
         long startTime = System.nanoTime();
-        computeShortestPaths(topoOrder);
+        if (parallel) {
+            computeShortestPathsParallel(topoOrder);
+        } else {
+            computeShortestPaths(topoOrder);
+        }
         long endTime = System.nanoTime();
 
         metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+        // The counter only sees the calling thread, so pool-thread work would go missing
+        metrics.setAllocatedBytes(parallel ? -1 : MemoryMeter.allocatedSince(allocationStart));
+        metrics.setRetainedBytes(2 * MemoryMeter.intArray(graph.getN()));
     }
 
 
@@ -51,10 +72,57 @@ public class DAGShortestPath {
     }
 
 
+    private void computeShortestPathsParallel(List<Integer> topoOrder) {
+        TopoLevels levels = new TopoLevels(graph, topoOrder);
+
+        for (int k = 0; k < levels.levelCount(); k++) {
+            int from = levels.levelOffsets[k];
+            int to = levels.levelOffsets[k + 1];
+            IntStream range = IntStream.range(from, to);
+            if (to - from >= PARALLEL_THRESHOLD) {
+                range = range.parallel();
+            }
+            // Each vertex only writes its own slot, so no synchronization is needed
+            metrics.addRelaxations(range.map(i -> pull(levels, levels.levelVertices[i])).sum());
+        }
+    }
+
+    private int pull(TopoLevels levels, int v) {
+        if (v == source) {
+            dist[v] = 0;
+            return 0;
+        }
+
+        int relaxations = 0;
+        int best = Integer.MAX_VALUE;
+        int bestParent = -1;
+        for (int e = levels.inOffsets[v]; e < levels.inOffsets[v + 1]; e++) {
+            int u = levels.inSources[e];
+            if (u >= 0 && dist[u] != Integer.MAX_VALUE) {
+                relaxations++;
+                if (dist[u] + levels.inWeights[e] < best) {
+                    best = dist[u] + levels.inWeights[e];
+                    bestParent = u;
+                }
+            }
+        }
+        dist[v] = best;
+        parent[v] = bestParent;
+        return relaxations;
+    }
+
+
     public int getDistance(int vertex) {
         return dist[vertex];
     }
 
+    /**
+     * Predecessor of vertex on its shortest path; -1 for the source and unreachable vertices
+     */
+    public int getParent(int vertex) {
+        return parent[vertex];
+    }
+
 
     public List<Integer> getPath(int vertex) {
         if (dist[vertex] == Integer.MAX_VALUE) {
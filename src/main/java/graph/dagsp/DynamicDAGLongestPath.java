@@ -0,0 +1,109 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import java.util.*;
+
+
+/**
+ * DAG longest paths (critical path) that stay current under weight changes,
+ * edge insertions and edge deletions. The end of the critical path is kept in
+ * a max segment tree over vertices, so the critical length is O(1) to read and
+ * O(log n) to maintain per changed vertex. Ties go to the smallest vertex id,
+ * as in DAGLongestPath.
+ */
+public class DynamicDAGLongestPath extends DynamicDAGPaths {
+    private final int size;      // number of segment tree leaves
+    private final int[] best;    // best[node] = vertex with the largest distance in that range
+
+    public DynamicDAGLongestPath(Graph graph, List<Integer> topoOrder) {
+        super(graph, topoOrder);
+        int leaves = 1;
+        while (leaves < Math.max(1, n)) {
+            leaves <<= 1;
+        }
+        this.size = leaves;
+        this.best = new int[2 * leaves];
+        Arrays.fill(best, -1);
+        Arrays.fill(dist, Integer.MIN_VALUE);
+        Arrays.fill(parent, -1);
+        initialize();
+    }
+
+    @Override
+    protected boolean recompute(int v) {
+        // Vertices without predecessors start a path of length 0
+        int value = inEdges[v].isEmpty() ? 0 : Integer.MIN_VALUE;
+        int bestParent = -1;
+
+        for (Edge in : inEdges[v]) {
+            int u = in.to;
+            if (dist[u] == Integer.MIN_VALUE) {
+                continue;
+            }
+            metrics.incrementRelaxations();
+            int candidate = dist[u] + in.weight;
+            if (candidate > value || (candidate == value && bestParent != -1 && pos[u] < pos[bestParent])) {
+                value = candidate;
+                bestParent = u;
+            }
+        }
+
+        boolean changed = dist[v] != value;
+        dist[v] = value;
+        parent[v] = bestParent;
+        return changed;
+    }
+
+    @Override
+    protected void onDistanceChanged(int v) {
+        int node = size + v;
+        best[node] = v;
+        node >>>= 1;
+        while (node >= 1) {
+            best[node] = better(best[2 * node], best[2 * node + 1]);
+            node >>>= 1;
+        }
+    }
+
+    private int better(int a, int b) {
+        if (a == -1) return b;
+        if (b == -1) return a;
+        if (dist[a] != dist[b]) {
+            return dist[a] > dist[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    public List<Integer> getCriticalPath() {
+        List<Integer> path = new ArrayList<>();
+        int endNode = n == 0 ? -1 : best[1];
+        if (endNode != -1) {
+            int current = endNode;
+            while (current != -1) {
+                path.add(current);
+                current = parent[current];
+            }
+            Collections.reverse(path);
+        }
+        return path;
+    }
+
+    public int getCriticalLength() {
+        return n == 0 ? Integer.MIN_VALUE : dist[best[1]];
+    }
+
+    /**
+     * Longest path from any start vertex ending at the given vertex
+     */
+    public List<Integer> getPath(int vertex) {
+        List<Integer> path = new ArrayList<>();
+        int current = vertex;
+        while (current != -1) {
+            path.add(current);
+            current = parent[current];
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,265 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import graph.util.IntMinHeap;
+import java.util.*;
+
+
+/**
+ * Shared machinery for the incremental DAG path classes.
+ * Each vertex value is recomputed by pulling from its in-edges; after an edit only
+ * the affected vertices are re-evaluated, in topological position order, and a
+ * vertex whose distance changes queues its successors. Edge insertions that break
+ * the current order are repaired locally (Pearce-Kelly) instead of re-sorting.
+ */
+abstract class DynamicDAGPaths {
+    protected final Graph graph;
+    protected final int n;
+    protected final int[] dist;
+    protected final int[] parent;
+    protected final int[] pos;   // topological position of each vertex
+    protected final int[] order; // vertex at each topological position
+    protected final List<Edge>[] inEdges; // inEdges[v] holds (predecessor, weight)
+    protected final graph.dagsp.Metrics metrics;
+    private final IntMinHeap pending;
+
+    // Scratch space for order repair
+    private final int[] mark;
+    private int stamp;
+    private final int[] stack;
+    private final int[] forwardFound;
+    private final int[] backwardFound;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected DynamicDAGPaths(Graph graph, List<Integer> topoOrder) {
+        this.graph = graph;
+        this.n = graph.getN();
+        this.dist = new int[n];
+        this.parent = new int[n];
+        this.pos = new int[n];
+        this.order = new int[n];
+        this.inEdges = new ArrayList[n];
+        this.metrics = new graph.dagsp.Metrics();
+        this.pending = new IntMinHeap(n);
+        this.mark = new int[n];
+        this.stamp = 0;
+        this.stack = new int[n];
+        this.forwardFound = new int[n];
+        this.backwardFound = new int[n];
+
+        if (topoOrder.size() != n) {
+            throw new IllegalArgumentException("Topological order must cover every vertex");
+        }
+        for (int i = 0; i < n; i++) {
+            order[i] = topoOrder.get(i);
+            pos[order[i]] = i;
+            inEdges[i] = new ArrayList<>();
+        }
+        for (int u = 0; u < n; u++) {
+            for (Edge edge : graph.getAdjList()[u]) {
+                inEdges[edge.to].add(new Edge(u, edge.weight));
+            }
+        }
+    }
+
+    /**
+     * Full initial evaluation in topological order. Subclasses call this once
+     * their own fields are set.
+     */
+    protected void initialize() {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            recompute(v);
+            onDistanceChanged(v);
+        }
+        long endTime = System.nanoTime();
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+    }
+
+    /**
+     * Recompute dist[v] and parent[v] from the in-edges of v.
+     * Returns true if dist[v] changed.
+     */
+    protected abstract boolean recompute(int v);
+
+    protected void onDistanceChanged(int v) {
+    }
+
+    /**
+     * Change the weight of edge u -> v. Returns the number of vertices whose distance changed.
+     */
+    public int updateWeight(int u, int v, int weight) {
+        Edge edge = graph.findEdge(u, v);
+        if (edge == null) {
+            throw new IllegalArgumentException("No edge " + u + " -> " + v);
+        }
+        replaceInEdge(v, u, edge.weight, weight);
+        graph.setEdgeWeight(u, v, weight);
+        schedule(v);
+        return propagate();
+    }
+
+    /**
+     * Insert edge u -> v. Throws IllegalArgumentException if it would create a cycle.
+     * Returns the number of vertices whose distance changed.
+     */
+    public int insertEdge(int u, int v, int weight) {
+        if (u == v) {
+            throw new IllegalArgumentException("Edge " + u + " -> " + v + " would create a cycle");
+        }
+        if (pos[u] > pos[v]) {
+            restoreOrder(u, v);
+        }
+        graph.addEdge(u, v, weight);
+        inEdges[v].add(new Edge(u, weight));
+        schedule(v);
+        return propagate();
+    }
+
+    /**
+     * Delete edge u -> v. Returns the number of vertices whose distance changed.
+     */
+    public int deleteEdge(int u, int v) {
+        Edge removed = graph.removeEdge(u, v);
+        if (removed == null) {
+            throw new IllegalArgumentException("No edge " + u + " -> " + v);
+        }
+        replaceInEdge(v, u, removed.weight, null);
+        schedule(v);
+        return propagate();
+    }
+
+    private void replaceInEdge(int v, int u, int oldWeight, Integer newWeight) {
+        ListIterator<Edge> it = inEdges[v].listIterator();
+        while (it.hasNext()) {
+            Edge in = it.next();
+            if (in.to == u && in.weight == oldWeight) {
+                if (newWeight == null) {
+                    it.remove();
+                } else {
+                    it.set(new Edge(u, newWeight));
+                }
+                return;
+            }
+        }
+    }
+
+    private void schedule(int v) {
+        pending.insertOrDecrease(v, pos[v]);
+    }
+
+    /**
+     * Re-relax the downstream cone of the scheduled vertices in topological position order
+     */
+    private int propagate() {
+        int changed = 0;
+        while (!pending.isEmpty()) {
+            int v = pending.pop();
+            if (recompute(v)) {
+                changed++;
+                onDistanceChanged(v);
+                for (Edge edge : graph.getAdjList()[v]) {
+                    schedule(edge.to);
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Pearce-Kelly repair for a new edge u -> v with pos[u] > pos[v]: the vertices
+     * reachable from v and the vertices reaching u inside the affected window are
+     * moved so that the second group precedes the first.
+     */
+    private void restoreOrder(int u, int v) {
+        int lower = pos[v];
+        int upper = pos[u];
+
+        stamp++;
+        int forwardCount = collect(v, lower, upper, true, u, forwardFound);
+        int backwardCount = collect(u, lower, upper, false, -1, backwardFound);
+
+        int[] slots = new int[forwardCount + backwardCount];
+        System.arraycopy(backwardFound, 0, slots, 0, backwardCount);
+        System.arraycopy(forwardFound, 0, slots, backwardCount, forwardCount);
+        Arrays.sort(slots);
+        Arrays.sort(forwardFound, 0, forwardCount);
+        Arrays.sort(backwardFound, 0, backwardCount);
+
+        int[] moved = new int[slots.length];
+        int k = 0;
+        for (int i = 0; i < backwardCount; i++) {
+            moved[k++] = order[backwardFound[i]];
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            moved[k++] = order[forwardFound[i]];
+        }
+        for (int i = 0; i < slots.length; i++) {
+            order[slots[i]] = moved[i];
+            pos[moved[i]] = slots[i];
+        }
+
+        // Ties between predecessors are broken by position, so anything fed by a
+        // moved vertex has to pick its parent again
+        for (int w : moved) {
+            for (Edge edge : graph.getAdjList()[w]) {
+                schedule(edge.to);
+            }
+        }
+    }
+
+    /**
+     * DFS inside the window (lower, upper); stores the positions of the visited vertices
+     * in found and returns how many there are. The forward search fails if it reaches
+     * the cycle vertex.
+     */
+    private int collect(int start, int lower, int upper, boolean forward, int cycleVertex, int[] found) {
+        int top = 0;
+        int count = 0;
+        stack[top++] = start;
+        mark[start] = stamp;
+        while (top > 0) {
+            int w = stack[--top];
+            found[count++] = pos[w];
+            List<Edge> edges = forward ? graph.getAdjList()[w] : inEdges[w];
+            for (Edge edge : edges) {
+                int x = edge.to;
+                if (forward && x == cycleVertex) {
+                    throw new IllegalArgumentException("Edge " + cycleVertex + " -> " + start
+                            + " would create a cycle");
+                }
+                boolean inWindow = forward ? pos[x] < upper : pos[x] > lower;
+                if (inWindow && mark[x] != stamp) {
+                    mark[x] = stamp;
+                    stack[top++] = x;
+                }
+            }
+        }
+        return count;
+    }
+
+    public int getDistance(int vertex) {
+        return dist[vertex];
+    }
+
+    public int[] getAllDistances() {
+        return dist;
+    }
+
+    /**
+     * Current topological order, kept valid across edge insertions
+     */
+    public List<Integer> getTopologicalOrder() {
+        List<Integer> result = new ArrayList<>(n);
+        for (int v : order) {
+            result.add(v);
+        }
+        return result;
+    }
+
+    public graph.dagsp.Metrics getMetrics() {
+        return metrics;
+    }
+}
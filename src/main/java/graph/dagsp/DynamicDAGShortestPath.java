@@ -0,0 +1,72 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import java.util.*;
+
+
+/**
+ * Single-source DAG shortest paths that stay current under weight changes,
+ * edge insertions and edge deletions. Results match DAGShortestPath, including
+ * parents: ties go to the predecessor earliest in topological order.
+ */
+public class DynamicDAGShortestPath extends DynamicDAGPaths {
+    private final int source;
+
+    public DynamicDAGShortestPath(Graph graph, int source, List<Integer> topoOrder) {
+        super(graph, topoOrder);
+        this.source = source;
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        initialize();
+    }
+
+    @Override
+    protected boolean recompute(int v) {
+        int best = Integer.MAX_VALUE;
+        int bestParent = -1;
+
+        if (v == source) {
+            best = 0;
+        } else {
+            for (Edge in : inEdges[v]) {
+                int u = in.to;
+                if (dist[u] == Integer.MAX_VALUE) {
+                    continue;
+                }
+                metrics.incrementRelaxations();
+                int candidate = dist[u] + in.weight;
+                if (candidate < best || (candidate == best && bestParent != -1 && pos[u] < pos[bestParent])) {
+                    best = candidate;
+                    bestParent = u;
+                }
+            }
+        }
+
+        boolean changed = dist[v] != best;
+        dist[v] = best;
+        parent[v] = bestParent;
+        return changed;
+    }
+
+    public List<Integer> getPath(int vertex) {
+        if (dist[vertex] == Integer.MAX_VALUE) {
+            return Collections.emptyList();
+        }
+
+        List<Integer> path = new ArrayList<>();
+        int current = vertex;
+
+        while (current != -1) {
+            path.add(current);
+            current = parent[current];
+        }
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    public int getSource() {
+        return source;
+    }
+}
@@ -2,7 +2,9 @@ package graph.dagsp;
 
 
 public class Metrics {
-    private int relaxations;
+    private long relaxations;
+    private long allocatedBytes = -1; // by the running thread, -1 if not measured (parallel mode)
+    private long retainedBytes;       // estimated size of the structures the result keeps
     private double executionTime;
 
     public Metrics() {
@@ -14,14 +16,38 @@ public class Metrics {
         relaxations++;
     }
 
+    public void addRelaxations(long count) {
+        relaxations += count;
+    }
+
+    public void setRelaxations(long count) {
+        relaxations = count;
+    }
+
     public void setExecutionTime(double time) {
         this.executionTime = time;
     }
 
-    public int getRelaxations() {
+    public long getRelaxations() {
         return relaxations;
     }
 
+    public void setAllocatedBytes(long bytes) {
+        this.allocatedBytes = bytes;
+    }
+
+    public void setRetainedBytes(long bytes) {
+        this.retainedBytes = bytes;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
     public double getExecutionTime() {
         return executionTime;
     }
@@ -0,0 +1,282 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import java.util.*;
+import java.util.stream.IntStream;
+
+
+/**
+ * Monte Carlo critical path analysis with uncertain task durations.
+ * Each task duration is drawn from a triangular distribution (low, mode, high)
+ * and rounded to a whole time unit; under the "edge" weight model edge weights
+ * are fixed lags, as in CriticalPathMethod.
+ *
+ * Scenarios are evaluated BATCH at a time: per-vertex arrays are laid out
+ * vertex-major (v * BATCH + s), so each edge relaxes all scenarios of the batch
+ * in one contiguous inner loop. Every batch gets its own SplittableRandom, split
+ * from the seed up front, so results do not depend on the number of threads.
+ */
+public class MonteCarloCriticalPath {
+    static final int BATCH = 8;
+    // Scratch arrays hold n * BATCH entries; keep that within the JVM's array limit
+    static final int MAX_TASKS = (Integer.MAX_VALUE - 8) / BATCH;
+
+    private final int n;
+    private final int scenarios;
+    private final long[] makespans;      // sorted ascending
+    private final double[] criticality;  // fraction of scenarios where the task has zero slack
+    private final Metrics metrics;
+
+    // Flat inputs shared by all batches
+    private final int[] order;
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] lags;
+    private final int[] low;
+    private final int[] mode;
+    private final int[] high;
+
+    public MonteCarloCriticalPath(Graph graph, List<Integer> topoOrder,
+                                  int[] low, int[] mode, int[] high, int scenarios, long seed) {
+        this(graph, topoOrder, low, mode, high, scenarios, seed, false);
+    }
+
+    /**
+     * With parallel = true batches are spread over the common pool.
+     * Results are identical to the sequential run for the same seed.
+     */
+    public MonteCarloCriticalPath(Graph graph, List<Integer> topoOrder,
+                                  int[] low, int[] mode, int[] high, int scenarios, long seed, boolean parallel) {
+        this.n = graph.getN();
+        if (topoOrder.size() != n) {
+            throw new IllegalArgumentException("Critical path analysis requires a DAG");
+        }
+        if (n > MAX_TASKS) {
+            throw new IllegalArgumentException("Too many tasks for batched simulation: " + n
+                    + " (at most " + MAX_TASKS + ")");
+        }
+        if (scenarios < 1) {
+            throw new IllegalArgumentException("Need at least one scenario");
+        }
+        for (int v = 0; v < n; v++) {
+            if (low[v] > mode[v] || mode[v] > high[v]) {
+                throw new IllegalArgumentException("Invalid duration range for task " + v);
+            }
+        }
+        this.scenarios = scenarios;
+        this.low = low;
+        this.mode = mode;
+        this.high = high;
+        this.makespans = new long[scenarios];
+        this.criticality = new double[n];
+        this.metrics = new Metrics();
+
+        this.order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = topoOrder.get(i);
+        }
+        boolean edgeLags = "edge".equals(graph.getWeightModel());
+        this.offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + graph.getAdjList()[u].size();
+        }
+        this.targets = new int[offsets[n]];
+        this.lags = new long[offsets[n]];
+        for (int u = 0, e = 0; u < n; u++) {
+            for (Edge edge : graph.getAdjList()[u]) {
+                targets[e] = edge.to;
+                lags[e++] = edgeLags ? edge.weight : 0;
+            }
+        }
+
+        long startTime = System.nanoTime();
+        run(seed, parallel);
+        long endTime = System.nanoTime();
+
+        metrics.setRelaxations(2L * targets.length * scenarios);
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+    }
+
+
+    private void run(long seed, boolean parallel) {
+        int batches = (int) (((long) scenarios + BATCH - 1) / BATCH);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] random = new SplittableRandom[batches];
+        for (int b = 0; b < batches; b++) {
+            random[b] = root.split();
+        }
+
+        // Contiguous groups of batches, each with its own scratch arrays and counts
+        int groups = parallel ? Math.min(batches, Runtime.getRuntime().availableProcessors()) : 1;
+        int[][] criticalCounts = new int[groups][];
+        IntStream range = IntStream.range(0, groups);
+        if (parallel) {
+            range = range.parallel();
+        }
+        range.forEach(group -> {
+            Scratch scratch = new Scratch(n);
+            int[] counts = new int[n];
+            int from = (int) ((long) batches * group / groups);
+            int to = (int) ((long) batches * (group + 1) / groups);
+            for (int b = from; b < to; b++) {
+                runBatch(b, random[b], scratch, counts);
+            }
+            criticalCounts[group] = counts;
+        });
+
+        for (int[] counts : criticalCounts) {
+            for (int v = 0; v < n; v++) {
+                criticality[v] += counts[v];
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            criticality[v] /= scenarios;
+        }
+        Arrays.sort(makespans);
+    }
+
+    private static class Scratch {
+        final long[] duration;
+        final long[] start;
+        final long[] tail;
+        final long[] makespan = new long[BATCH];
+
+        Scratch(int n) {
+            int size = Math.toIntExact((long) n * BATCH);
+            duration = new long[size];
+            start = new long[size];
+            tail = new long[size];
+        }
+    }
+
+    private void runBatch(int batch, SplittableRandom random, Scratch scratch, int[] counts) {
+        long[] duration = scratch.duration;
+        long[] start = scratch.start;
+        long[] tail = scratch.tail;
+        long[] makespan = scratch.makespan;
+        Arrays.fill(start, 0);
+        Arrays.fill(makespan, 0);
+
+        for (int v = 0; v < n; v++) {
+            for (int s = 0; s < BATCH; s++) {
+                duration[v * BATCH + s] = sample(v, random);
+            }
+        }
+
+        // Forward: earliest starts, all scenarios of an edge in one loop
+        for (int u : order) {
+            int ub = u * BATCH;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int vb = targets[e] * BATCH;
+                long lag = lags[e];
+                for (int s = 0; s < BATCH; s++) {
+                    start[vb + s] = Math.max(start[vb + s], start[ub + s] + duration[ub + s] + lag);
+                }
+            }
+        }
+
+        // Backward: tails (own duration plus the heaviest chain after it)
+        for (int i = n - 1; i >= 0; i--) {
+            int ub = order[i] * BATCH;
+            for (int s = 0; s < BATCH; s++) {
+                tail[ub + s] = 0;
+            }
+            for (int e = offsets[order[i]]; e < offsets[order[i] + 1]; e++) {
+                int vb = targets[e] * BATCH;
+                long lag = lags[e];
+                for (int s = 0; s < BATCH; s++) {
+                    tail[ub + s] = Math.max(tail[ub + s], lag + tail[vb + s]);
+                }
+            }
+            for (int s = 0; s < BATCH; s++) {
+                tail[ub + s] += duration[ub + s];
+                makespan[s] = Math.max(makespan[s], start[ub + s] + tail[ub + s]);
+            }
+        }
+
+        // The last batch may be partial; its extra scenarios are drawn but not recorded
+        int first = batch * BATCH;
+        int count = Math.min(BATCH, scenarios - first);
+        for (int v = 0; v < n; v++) {
+            int vb = v * BATCH;
+            for (int s = 0; s < count; s++) {
+                if (start[vb + s] + tail[vb + s] == makespan[s]) {
+                    counts[v]++;
+                }
+            }
+        }
+        System.arraycopy(makespan, 0, makespans, first, count);
+    }
+
+    /**
+     * Triangular sample, rounded to a whole time unit
+     */
+    private long sample(int v, SplittableRandom random) {
+        double a = low[v];
+        double c = mode[v];
+        double b = high[v];
+        if (a == b) {
+            return low[v];
+        }
+        double u = random.nextDouble();
+        double x = u < (c - a) / (b - a)
+                ? a + Math.sqrt(u * (b - a) * (c - a))
+                : b - Math.sqrt((1 - u) * (b - a) * (b - c));
+        return Math.round(x);
+    }
+
+
+    /**
+     * Nearest-rank percentile of the makespan, p in [0, 100]
+     */
+    public long getPercentile(double p) {
+        if (p < 0 || p > 100) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]");
+        }
+        int rank = (int) Math.ceil(p / 100.0 * scenarios);
+        return makespans[Math.max(0, rank - 1)];
+    }
+
+    public double getMeanMakespan() {
+        double sum = 0;
+        for (long m : makespans) {
+            sum += m;
+        }
+        return sum / scenarios;
+    }
+
+    public long getMinMakespan() {
+        return makespans[0];
+    }
+
+    public long getMaxMakespan() {
+        return makespans[scenarios - 1];
+    }
+
+    /**
+     * All scenario makespans, ascending
+     */
+    public long[] getMakespans() {
+        return makespans;
+    }
+
+    /**
+     * Fraction of scenarios in which task v lies on a critical path
+     */
+    public double getCriticalityIndex(int v) {
+        return criticality[v];
+    }
+
+    public double[] getCriticalityIndices() {
+        return criticality;
+    }
+
+    public int getScenarioCount() {
+        return scenarios;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,86 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import java.util.*;
+
+
+/**
+ * Flat pull-side view of a DAG for the level-parallel DP mode.
+ * Vertices are grouped by level (longest hop count from a vertex without
+ * predecessors), so every in-edge of a level comes from an earlier level.
+ * In-edges of each vertex are stored in the order a sequential topological
+ * sweep would relax them, which keeps tie-breaking identical.
+ *
+ * If topoOrder leaves vertices out (a cyclic graph), the sequential sweep never
+ * relaxes their out-edges: those in-edge slots hold -1 and pulls skip them.
+ * The left-out vertices form one extra last level.
+ */
+class TopoLevels {
+    final int[] levelOffsets;  // vertices of level k are levelVertices[levelOffsets[k] .. levelOffsets[k+1])
+    final int[] levelVertices;
+    final int[] inOffsets;     // in-edges of v are at inOffsets[v] .. inOffsets[v+1]
+    final int[] inSources;     // -1 where the source is not in the order
+    final int[] inWeights;
+
+    TopoLevels(Graph graph, List<Integer> topoOrder) {
+        int n = graph.getN();
+        List<Edge>[] adj = graph.getAdjList();
+
+        inOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (Edge edge : adj[u]) {
+                inOffsets[edge.to + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+
+        inSources = new int[inOffsets[n]];
+        inWeights = new int[inOffsets[n]];
+        Arrays.fill(inSources, -1);
+        int[] fill = Arrays.copyOf(inOffsets, n);
+        int[] level = new int[n];
+        boolean[] ordered = new boolean[n];
+        int maxLevel = -1;
+
+        for (int u : topoOrder) {
+            ordered[u] = true;
+            maxLevel = Math.max(maxLevel, level[u]);
+            for (Edge edge : adj[u]) {
+                int v = edge.to;
+                inSources[fill[v]] = u;
+                inWeights[fill[v]] = edge.weight;
+                fill[v]++;
+                level[v] = Math.max(level[v], level[u] + 1);
+            }
+        }
+
+        if (topoOrder.size() < n) {
+            maxLevel++;
+            for (int v = 0; v < n; v++) {
+                if (!ordered[v]) {
+                    level[v] = maxLevel;
+                }
+            }
+        }
+
+        levelOffsets = new int[maxLevel + 2];
+        for (int v = 0; v < n; v++) {
+            levelOffsets[level[v] + 1]++;
+        }
+        for (int k = 0; k <= maxLevel; k++) {
+            levelOffsets[k + 1] += levelOffsets[k];
+        }
+        levelVertices = new int[n];
+        int[] next = Arrays.copyOf(levelOffsets, maxLevel + 1);
+        for (int v = 0; v < n; v++) {
+            levelVertices[next[level[v]]++] = v;
+        }
+    }
+
+    int levelCount() {
+        return levelOffsets.length - 1;
+    }
+}
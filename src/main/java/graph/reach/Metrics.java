@@ -0,0 +1,59 @@
+package graph.reach;
+
+public class Metrics {
+    private int batches;
+    private long wordOperations;
+    private long sourceVertices;
+    private double executionTime; // in milliseconds
+
+    public Metrics() {
+        this.batches = 0;
+        this.wordOperations = 0;
+        this.sourceVertices = 0;
+        this.executionTime = 0.0;
+    }
+
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+
+    public void addWordOperations(long count) {
+        wordOperations += count;
+    }
+
+    public void setSourceVertices(long sourceVertices) {
+        this.sourceVertices = sourceVertices;
+    }
+
+    public void setExecutionTime(double time) {
+        this.executionTime = time;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public long getWordOperations() {
+        return wordOperations;
+    }
+
+    public double getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Throughput as (sources x vertices) pairs resolved per second
+     */
+    public double getSourceVerticesPerSecond() {
+        if (executionTime <= 0) {
+            return 0.0;
+        }
+        return sourceVertices / (executionTime / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Batches: %d, Word Ops: %d, Time: %.3f ms, Throughput: %.0f source-vertices/s",
+                batches, wordOperations, executionTime, getSourceVerticesPerSecond());
+    }
+}
@@ -0,0 +1,192 @@
+package graph.reach;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import graph.topo.TopologicalSort;
+import java.util.*;
+import java.util.stream.IntStream;
+
+
+/**
+ * Descendant sets for many sources at once. Sources are packed 64 per long,
+ * so one pass over the edges answers reachability for a whole batch.
+ * On a DAG the words are pushed along the topological order; on a cyclic
+ * graph a frontier worklist re-propagates until no word changes.
+ * Batches are independent and run in parallel.
+ */
+public class MultiSourceReachability {
+    private final Graph graph;
+    private final int[] sources;
+    private final long[][] batchBits; // batchBits[b][v], bit j set if sources[64*b + j] reaches v
+    private final Metrics metrics;
+
+    public MultiSourceReachability(Graph graph, int[] sources) {
+        this.graph = graph;
+        this.sources = sources.clone();
+        int numBatches = (sources.length + 63) / 64;
+        this.batchBits = new long[numBatches][];
+        this.metrics = new Metrics();
+
+        long startTime = System.nanoTime();
+
+        TopologicalSort topo = new TopologicalSort(graph);
+        int[] order = topo.isDAG() ? toArray(topo.getOrder()) : null;
+
+        long[] ops = new long[numBatches];
+        IntStream.range(0, numBatches).parallel().forEach(b -> {
+            long[] bits = seedBatch(b);
+            ops[b] = order != null ? sweepTopological(bits, order) : sweepFrontier(bits, b);
+            batchBits[b] = bits;
+        });
+
+        long endTime = System.nanoTime();
+
+        metrics.setBatches(numBatches);
+        for (long count : ops) {
+            metrics.addWordOperations(count);
+        }
+        metrics.setSourceVertices((long) sources.length * graph.getN());
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+    }
+
+    private long[] seedBatch(int b) {
+        long[] bits = new long[graph.getN()];
+        int from = b * 64;
+        int to = Math.min(sources.length, from + 64);
+        for (int i = from; i < to; i++) {
+            bits[sources[i]] |= 1L << (i - from);
+        }
+        return bits;
+    }
+
+    /**
+     * Single pass in topological order: every predecessor word is final
+     * before it is pushed to its successors.
+     */
+    private long sweepTopological(long[] bits, int[] order) {
+        List<Edge>[] adj = graph.getAdjList();
+        long ops = 0;
+        for (int u : order) {
+            long word = bits[u];
+            if (word == 0) {
+                continue;
+            }
+            for (Edge edge : adj[u]) {
+                bits[edge.to] |= word;
+                ops++;
+            }
+        }
+        return ops;
+    }
+
+    /**
+     * Worklist propagation for graphs with cycles. A vertex is re-queued only
+     * when its word gains a new bit, so each vertex is processed at most 65 times.
+     */
+    private long sweepFrontier(long[] bits, int b) {
+        int n = graph.getN();
+        List<Edge>[] adj = graph.getAdjList();
+        int[] queue = new int[n + 1];
+        boolean[] inQueue = new boolean[n];
+        int head = 0;
+        int tail = 0;
+
+        int from = b * 64;
+        int to = Math.min(sources.length, from + 64);
+        for (int i = from; i < to; i++) {
+            int s = sources[i];
+            if (!inQueue[s]) {
+                inQueue[s] = true;
+                queue[tail] = s;
+                tail = (tail + 1) % queue.length;
+            }
+        }
+
+        long ops = 0;
+        while (head != tail) {
+            int u = queue[head];
+            head = (head + 1) % queue.length;
+            inQueue[u] = false;
+
+            long word = bits[u];
+            for (Edge edge : adj[u]) {
+                int v = edge.to;
+                ops++;
+                long merged = bits[v] | word;
+                if (merged != bits[v]) {
+                    bits[v] = merged;
+                    if (!inQueue[v]) {
+                        inQueue[v] = true;
+                        queue[tail] = v;
+                        tail = (tail + 1) % queue.length;
+                    }
+                }
+            }
+        }
+        return ops;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * True if sources[sourceIndex] reaches v (a source always reaches itself)
+     */
+    public boolean reaches(int sourceIndex, int v) {
+        return (batchBits[sourceIndex >>> 6][v] >>> (sourceIndex & 63) & 1L) != 0;
+    }
+
+    /**
+     * Descendant set of sources[sourceIndex], including the source itself
+     */
+    public BitSet getDescendants(int sourceIndex) {
+        long[] bits = batchBits[sourceIndex >>> 6];
+        int shift = sourceIndex & 63;
+        BitSet result = new BitSet(graph.getN());
+        for (int v = 0; v < bits.length; v++) {
+            if ((bits[v] >>> shift & 1L) != 0) {
+                result.set(v);
+            }
+        }
+        return result;
+    }
+
+    public int countDescendants(int sourceIndex) {
+        long[] bits = batchBits[sourceIndex >>> 6];
+        int shift = sourceIndex & 63;
+        int count = 0;
+        for (long word : bits) {
+            count += (int) (word >>> shift & 1L);
+        }
+        return count;
+    }
+
+    /**
+     * Union of all descendant sets: every vertex impacted by at least one source
+     */
+    public BitSet getImpacted() {
+        BitSet result = new BitSet(graph.getN());
+        for (int v = 0; v < graph.getN(); v++) {
+            for (long[] bits : batchBits) {
+                if (bits[v] != 0) {
+                    result.set(v);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public int[] getSources() {
+        return sources.clone();
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,119 @@
+package graph.scc;
+
+import graph.util.MemoryMeter;
+import java.util.*;
+
+
+/**
+ * Primitive component assignment shared by the SCC classes.
+ * componentOf[v] is the component of v; component c consists of
+ * members[offsets[c] .. offsets[c + 1]).
+ *
+ * Components are in canonical order (by smallest member) with members ascending.
+ * The boxed List<List<Integer>> view is only built when asked for.
+ */
+public class ComponentResult {
+    private final int[] componentOf;
+    private final int[] offsets;
+    private final int[] members;
+    private List<List<Integer>> lists;
+
+    private ComponentResult(int[] componentOf, int[] offsets, int[] members) {
+        this.componentOf = componentOf;
+        this.offsets = offsets;
+        this.members = members;
+    }
+
+    /**
+     * Canonicalize arbitrary component ids 0..rawCount-1 in two linear passes:
+     * scanning vertices in ascending order numbers each component by its smallest
+     * member and fills the member slices already sorted.
+     */
+    public static ComponentResult fromRawIds(int[] rawId, int rawCount) {
+        int n = rawId.length;
+        int[] canonical = new int[rawCount];
+        Arrays.fill(canonical, -1);
+
+        int[] componentOf = new int[n];
+        int[] offsets = new int[rawCount + 1];
+        int next = 0;
+        for (int v = 0; v < n; v++) {
+            int raw = rawId[v];
+            if (canonical[raw] == -1) {
+                canonical[raw] = next++;
+            }
+            componentOf[v] = canonical[raw];
+            offsets[componentOf[v] + 1]++;
+        }
+        if (next != rawCount) {
+            offsets = Arrays.copyOf(offsets, next + 1);
+        }
+        for (int c = 0; c < next; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(offsets, next);
+        for (int v = 0; v < n; v++) {
+            members[fill[componentOf[v]]++] = v;
+        }
+        return new ComponentResult(componentOf, offsets, members);
+    }
+
+    public int getComponentCount() {
+        return offsets.length - 1;
+    }
+
+    public int getComponentOf(int v) {
+        return componentOf[v];
+    }
+
+    public int[] getComponentOf() {
+        return componentOf;
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getMembers() {
+        return members;
+    }
+
+    public int getSize(int c) {
+        return offsets[c + 1] - offsets[c];
+    }
+
+    public int getLargestSize() {
+        int largest = 0;
+        for (int c = 0; c < getComponentCount(); c++) {
+            largest = Math.max(largest, getSize(c));
+        }
+        return largest;
+    }
+
+    /**
+     * Estimated size of the primitive arrays (the boxed view is not counted)
+     */
+    public long estimateBytes() {
+        return MemoryMeter.intArray(componentOf.length) + MemoryMeter.intArray(offsets.length)
+                + MemoryMeter.intArray(members.length);
+    }
+
+    /**
+     * Boxed view, built on first use
+     */
+    public synchronized List<List<Integer>> asLists() {
+        if (lists == null) {
+            lists = new ArrayList<>(getComponentCount());
+            for (int c = 0; c < getComponentCount(); c++) {
+                List<Integer> component = new ArrayList<>(getSize(c));
+                for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                    component.add(members[i]);
+                }
+                lists.add(component);
+            }
+        }
+        return lists;
+    }
+}
@@ -2,37 +2,49 @@ package graph.scc;
 
 import graph.Graph;
 import graph.Graph.Edge;
+import graph.util.MemoryMeter;
 import java.util.*;
 
 
 public class KosarajuSCC {
     private final Graph graph;
-    private final List<List<Integer>> components;
+    private final int[] rawComponent; // Component id in discovery order
+    private int rawCount;
+    private int[] finishStack;
+    private int finishCount;
+    private List<Edge>[] transposed;
+    private final ComponentResult result;
     private final Metrics metrics;
 
     public KosarajuSCC(Graph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Reuses a transpose built by transpose(graph) instead of building one;
+     * null builds it as part of the timed run.
+     */
+    public KosarajuSCC(Graph graph, List<Edge>[] transposed) {
+        long allocationStart = MemoryMeter.allocatedBytes();
         this.graph = graph;
-        this.components = new ArrayList<>();
-        int[] nodeToComponent = new int[graph.getN()];
+        this.transposed = transposed;
+        this.rawComponent = new int[graph.getN()];
+        this.rawCount = 0;
         this.metrics = new Metrics();
 
-        Arrays.fill(nodeToComponent, -1);
-
         long startTime = System.nanoTime();
         findSCCs();
         long endTime = System.nanoTime();
 
         metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
 
-        // Sort components by their minimum node
-        components.sort(Comparator.comparingInt(Collections::min));
+        // Number components by their minimum node (linear pass)
+        this.result = ComponentResult.fromRawIds(rawComponent, rawCount);
 
-        // Update nodeToComponent mapping after sorting
-        for (int i = 0; i < components.size(); i++) {
-            for (int node : components.get(i)) {
-                nodeToComponent[node] = i;
-            }
-        }
+        int n = graph.getN();
+        metrics.setAllocatedBytes(MemoryMeter.allocatedSince(allocationStart));
+        metrics.setRetainedBytes(2 * MemoryMeter.intArray(n) + MemoryMeter.adjacency(this.transposed)
+                + result.estimateBytes());
     }
 
     /**
@@ -43,32 +55,33 @@ public class KosarajuSCC {
 
         // Step 1: First DFS pass on original graph to compute finish times
         boolean[] visited = new boolean[n];
-        Stack<Integer> finishStack = new Stack<>();
+        finishStack = new int[n];
+        finishCount = 0;
 
         for (int v = 0; v < n; v++) {
             if (!visited[v]) {
-                dfsFirstPass(v, visited, finishStack);
+                dfsFirstPass(v, visited);
             }
         }
 
         // Step 2: Transpose (reverse) the graph
-        List<Edge>[] transposed = transposeGraph();
+        if (transposed == null) {
+            transposed = transpose(graph);
+        }
 
         // Step 3: Second DFS pass on transposed graph
         Arrays.fill(visited, false);
 
-        while (!finishStack.isEmpty()) {
-            int v = finishStack.pop();
+        for (int i = finishCount - 1; i >= 0; i--) {
+            int v = finishStack[i];
             if (!visited[v]) {
-                List<Integer> component = new ArrayList<>();
-                dfsSecondPass(v, visited, transposed, component);
-                Collections.sort(component);
-                components.add(component);
+                dfsSecondPass(v, visited, transposed);
+                rawCount++;
             }
         }
     }
 
-    private void dfsFirstPass(int v, boolean[] visited, Stack<Integer> finishStack) {
+    private void dfsFirstPass(int v, boolean[] visited) {
         visited[v] = true;
         metrics.incrementDFSVisits();
 
@@ -76,28 +89,27 @@ public class KosarajuSCC {
             metrics.incrementEdgesExplored();
             int w = edge.to;
             if (!visited[w]) {
-                dfsFirstPass(w, visited, finishStack);
+                dfsFirstPass(w, visited);
             }
         }
 
         // Push vertex after visiting all descendants (finish time)
-        finishStack.push(v);
+        finishStack[finishCount++] = v;
     }
 
     /**
      * Second DFS pass: collect SCCs on transposed graph
      */
-    private void dfsSecondPass(int v, boolean[] visited, List<Edge>[] transposed,
-                               List<Integer> component) {
+    private void dfsSecondPass(int v, boolean[] visited, List<Edge>[] transposed) {
         visited[v] = true;
-        component.add(v);
+        rawComponent[v] = rawCount;
         metrics.incrementDFSVisits();
 
         for (Edge edge : transposed[v]) {
             metrics.incrementEdgesExplored();
             int w = edge.to;
             if (!visited[w]) {
-                dfsSecondPass(w, visited, transposed, component);
+                dfsSecondPass(w, visited, transposed);
             }
         }
     }
@@ -106,7 +118,7 @@ public class KosarajuSCC {
      * Transpose (reverse) the graph
      */
     @SuppressWarnings("unchecked")
-    private List<Edge>[] transposeGraph() {
+    public static List<Edge>[] transpose(Graph graph) {
         int n = graph.getN();
         List<Edge>[] transposed = new ArrayList[n];
 
@@ -124,8 +136,15 @@ public class KosarajuSCC {
         return transposed;
     }
 
+    /**
+     * Boxed view of the components, built on first use
+     */
     public List<List<Integer>> getComponents() {
-        return components;
+        return result.asLists();
+    }
+
+    public ComponentResult getResult() {
+        return result;
     }
 
     public Metrics getMetrics() {
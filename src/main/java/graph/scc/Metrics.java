@@ -1,8 +1,10 @@
 package graph.scc;
 
 public class Metrics {
-    private int dfsVisits;
-    private int edgesExplored;
+    private long dfsVisits;
+    private long edgesExplored;
+    private long allocatedBytes = -1; // by the running thread, -1 if not measured
+    private long retainedBytes;       // estimated size of the structures the result keeps
     private double executionTime; // in milliseconds
 
     public Metrics() {
@@ -23,14 +25,30 @@ public class Metrics {
         this.executionTime = time;
     }
 
-    public int getDfsVisits() {
+    public long getDfsVisits() {
         return dfsVisits;
     }
 
-    public int getEdgesExplored() {
+    public long getEdgesExplored() {
         return edgesExplored;
     }
 
+    public void setAllocatedBytes(long bytes) {
+        this.allocatedBytes = bytes;
+    }
+
+    public void setRetainedBytes(long bytes) {
+        this.retainedBytes = bytes;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
     public double getExecutionTime() {
         return executionTime;
     }
@@ -0,0 +1,153 @@
+package graph.scc;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import graph.util.MemoryMeter;
+import java.util.*;
+
+
+/**
+ * Pearce's space-efficient SCC algorithm ("A space-efficient algorithm for
+ * finding strongly connected components", 2016), iterative form.
+ *
+ * A single rindex array replaces Tarjan's index, lowlink and component arrays:
+ * visit order while a vertex is active, then its component number, counted down
+ * from n - 1 so it can never be mistaken for a visit index. Whether a vertex is
+ * still a root candidate is one bit, and the DFS stack and the component stack
+ * share one int array (growing from opposite ends), since a vertex is on at
+ * most one of them. With the edge cursor stack that is 3 ints plus 1 bit per
+ * vertex of working memory.
+ *
+ * The result is canonicalized, so it is identical to TarjanSCC's.
+ */
+public class PearceSCC {
+    private final ComponentResult result;
+    private final Metrics metrics;
+    private final long workingBytes;
+
+    public PearceSCC(Graph graph) {
+        long allocationStart = MemoryMeter.allocatedBytes();
+        int n = graph.getN();
+        List<Edge>[] adj = graph.getAdjList();
+        int[] rindex = new int[n];
+        BitSet root = new BitSet(n);
+        int[] stacks = new int[n];   // DFS stack from the bottom, component stack from the top
+        int[] cursor = new int[n];   // next edge of each DFS frame, indexed like the DFS stack
+        this.metrics = new Metrics();
+        long workingAllocated = MemoryMeter.allocatedSince(allocationStart);
+
+        long startTime = System.nanoTime();
+
+        int index = 1;
+        int component = n - 1;
+        int componentTop = n;        // component stack occupies stacks[componentTop .. n)
+
+        for (int start = 0; start < n; start++) {
+            if (rindex[start] != 0) {
+                continue;
+            }
+            int depth = 0;
+            stacks[depth] = start;
+            cursor[depth++] = 0;
+            root.set(start);
+            rindex[start] = index++;
+            metrics.incrementDFSVisits();
+
+            while (depth > 0) {
+                int v = stacks[depth - 1];
+                int i = cursor[depth - 1];
+                List<Edge> edges = adj[v];
+
+                // The edge we just returned through, if any, is finished first
+                if (i > 0) {
+                    int w = edges.get(i - 1).to;
+                    if (rindex[w] < rindex[v]) {
+                        rindex[v] = rindex[w];
+                        root.clear(v);
+                    }
+                }
+
+                boolean descended = false;
+                while (i < edges.size()) {
+                    int w = edges.get(i++).to;
+                    metrics.incrementEdgesExplored();
+                    if (rindex[w] == 0) {
+                        cursor[depth - 1] = i;
+                        stacks[depth] = w;
+                        cursor[depth++] = 0;
+                        root.set(w);
+                        rindex[w] = index++;
+                        metrics.incrementDFSVisits();
+                        descended = true;
+                        break;
+                    }
+                    if (rindex[w] < rindex[v]) {
+                        rindex[v] = rindex[w];
+                        root.clear(v);
+                    }
+                }
+                if (descended) {
+                    continue;
+                }
+
+                // v is finished
+                depth--;
+                if (root.get(v)) {
+                    index--;
+                    while (componentTop < n && rindex[v] <= rindex[stacks[componentTop]]) {
+                        rindex[stacks[componentTop++]] = component;
+                        index--;
+                    }
+                    rindex[v] = component--;
+                } else {
+                    stacks[--componentTop] = v;
+                }
+            }
+        }
+
+        long endTime = System.nanoTime();
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+
+        // Component numbers n-1, n-2, ... in completion order -> raw ids 0, 1, ... in place
+        int count = n - 1 - component;
+        for (int v = 0; v < n; v++) {
+            rindex[v] = n - 1 - rindex[v];
+        }
+        this.result = ComponentResult.fromRawIds(rindex, count);
+
+        this.workingBytes = workingAllocated >= 0 ? workingAllocated
+                : 3 * MemoryMeter.intArray(n) + MemoryMeter.longArray((n + 63) >>> 6);
+        metrics.setAllocatedBytes(MemoryMeter.allocatedSince(allocationStart));
+        metrics.setRetainedBytes(result.estimateBytes());
+    }
+
+    public ComponentResult getResult() {
+        return result;
+    }
+
+    /**
+     * Boxed view of the components, built on first use
+     */
+    public List<List<Integer>> getComponents() {
+        return result.asLists();
+    }
+
+    public int[] getNodeToComponent() {
+        return result.getComponentOf();
+    }
+
+    /**
+     * Bytes allocated for the working arrays (measured where the JVM supports it)
+     */
+    public long getWorkingBytes() {
+        return workingBytes;
+    }
+
+    public double getWorkingBytesPerVertex() {
+        return (double) workingBytes / Math.max(1, result.getComponentOf().length);
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
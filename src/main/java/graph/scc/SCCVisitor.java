@@ -0,0 +1,17 @@
+package graph.scc;
+
+
+/**
+ * Receives strongly connected components one at a time, as they are found.
+ */
+@FunctionalInterface
+public interface SCCVisitor {
+
+    /**
+     * Component number id consists of members[from .. to), in no particular order.
+     * Ids count up from 0 in emission order, which is a reverse topological order
+     * of the condensation. The array is the finder's own stack: it is only valid
+     * during the call and must be copied if kept.
+     */
+    void visit(int id, int[] members, int from, int to);
+}
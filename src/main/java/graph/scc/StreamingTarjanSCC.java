@@ -0,0 +1,104 @@
+package graph.scc;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import java.util.*;
+
+
+/**
+ * Tarjan's algorithm in streaming form: every component is handed to an
+ * SCCVisitor the moment its root is finished, as a slice of the component
+ * stack, so nothing per component is collected, sorted or renumbered.
+ * The DFS is iterative (explicit call stack with an edge cursor per vertex),
+ * so deep graphs cannot overflow the thread stack.
+ */
+public class StreamingTarjanSCC {
+    private int componentCount;
+    private int largestSize;
+    private final Metrics metrics;
+
+    public StreamingTarjanSCC(Graph graph, SCCVisitor visitor) {
+        int n = graph.getN();
+        List<Edge>[] adj = graph.getAdjList();
+        int[] index = new int[n];
+        int[] lowlink = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] cursor = new int[n];
+        int[] callStack = new int[n];
+        int[] sccStack = new int[n];
+        this.metrics = new Metrics();
+
+        Arrays.fill(index, -1);
+        int currentIndex = 0;
+        int sccTop = 0;
+
+        long startTime = System.nanoTime();
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int callTop = 0;
+            callStack[callTop++] = root;
+            index[root] = lowlink[root] = currentIndex++;
+            sccStack[sccTop++] = root;
+            onStack[root] = true;
+            metrics.incrementDFSVisits();
+
+            while (callTop > 0) {
+                int v = callStack[callTop - 1];
+                if (cursor[v] < adj[v].size()) {
+                    int w = adj[v].get(cursor[v]++).to;
+                    metrics.incrementEdgesExplored();
+                    if (index[w] == -1) {
+                        // Descend into w
+                        index[w] = lowlink[w] = currentIndex++;
+                        sccStack[sccTop++] = w;
+                        onStack[w] = true;
+                        callStack[callTop++] = w;
+                        metrics.incrementDFSVisits();
+                    } else if (onStack[w]) {
+                        lowlink[v] = Math.min(lowlink[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // All successors done: v is finished
+                callTop--;
+                if (lowlink[v] == index[v]) {
+                    int from = sccTop;
+                    int w;
+                    do {
+                        w = sccStack[--from];
+                        onStack[w] = false;
+                    } while (w != v);
+                    largestSize = Math.max(largestSize, sccTop - from);
+                    visitor.visit(componentCount++, sccStack, from, sccTop);
+                    sccTop = from;
+                }
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    lowlink[parent] = Math.min(lowlink[parent], lowlink[v]);
+                }
+            }
+        }
+
+        long endTime = System.nanoTime();
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public int getLargestSize() {
+        return largestSize;
+    }
+
+    /**
+     * Execution time includes the time spent in the visitor
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
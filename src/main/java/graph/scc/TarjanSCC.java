@@ -2,6 +2,8 @@ package graph.scc;
 
 import graph.Graph;
 import graph.Graph.Edge;
+import graph.topo.TransitiveReduction;
+import graph.util.MemoryMeter;
 import java.util.*;
 
 
@@ -10,26 +12,29 @@ public class TarjanSCC {
     private final int[] index;      // Discovery time
     private final int[] lowlink;    // Lowest reachable index
     private final boolean[] onStack;
-    private final Stack<Integer> stack;
-    private final List<List<Integer>> components;
-    private final int[] nodeToComponent; // Maps node to its component index
+    private final int[] stack;
+    private int stackSize;
+    private final int[] rawComponent; // Component id in discovery order
+    private int rawCount;
+    private final ComponentResult result;
     private int currentIndex;
     private final Metrics metrics;
 
     public TarjanSCC(Graph graph) {
+        long allocationStart = MemoryMeter.allocatedBytes();
         this.graph = graph;
         int n = graph.getN();
         this.index = new int[n];
         this.lowlink = new int[n];
         this.onStack = new boolean[n];
-        this.stack = new Stack<>();
-        this.components = new ArrayList<>();
-        this.nodeToComponent = new int[n];
+        this.stack = new int[n];
+        this.stackSize = 0;
+        this.rawComponent = new int[n];
+        this.rawCount = 0;
         this.currentIndex = 0;
         this.metrics = new Metrics();
 
         Arrays.fill(index, -1);
-        Arrays.fill(nodeToComponent, -1);
 
         long startTime = System.nanoTime();
 
@@ -43,15 +48,12 @@ public class TarjanSCC {
         long endTime = System.nanoTime();
         metrics.setExecutionTime((endTime - startTime) / 1_000_000.0); // Convert to ms
 
-        // Sort components by their minimum node for consistency
-        components.sort(Comparator.comparingInt(Collections::min));
+        // Number components by their minimum node for consistency (linear pass)
+        this.result = ComponentResult.fromRawIds(rawComponent, rawCount);
 
-        // Update nodeToComponent mapping after sorting
-        for (int i = 0; i < components.size(); i++) {
-            for (int node : components.get(i)) {
-                nodeToComponent[node] = i;
-            }
-        }
+        metrics.setAllocatedBytes(MemoryMeter.allocatedSince(allocationStart));
+        metrics.setRetainedBytes(4 * MemoryMeter.intArray(n) + MemoryMeter.booleanArray(n)
+                + result.estimateBytes());
     }
 
     private void strongConnect(int v) {
@@ -59,7 +61,7 @@ public class TarjanSCC {
         index[v] = currentIndex;
         lowlink[v] = currentIndex;
         currentIndex++;
-        stack.push(v);
+        stack[stackSize++] = v;
         onStack[v] = true;
         metrics.incrementDFSVisits();
 
@@ -78,40 +80,39 @@ public class TarjanSCC {
             }
         }
 
-        // If v is a root node, pop the stack and create an SCC
+        // If v is a root node, pop the stack and label the SCC
         if (lowlink[v] == index[v]) {
-            List<Integer> component = new ArrayList<>();
             int w;
             do {
-                w = stack.pop();
+                w = stack[--stackSize];
                 onStack[w] = false;
-                component.add(w);
+                rawComponent[w] = rawCount;
             } while (w != v);
-
-            Collections.sort(component); // Sort nodes within component
-            components.add(component);
+            rawCount++;
         }
     }
 
 
     public Graph buildCondensation() {
-        int numComponents = components.size();
+        int numComponents = result.getComponentCount();
+        int[] componentOf = result.getComponentOf();
+        int[] offsets = result.getOffsets();
+        int[] members = result.getMembers();
         Graph condensation = new Graph(numComponents, true);
 
-        Set<String> addedEdges = new HashSet<>();
+        // lastSource[c] == compU once compU -> c has been added
+        int[] lastSource = new int[numComponents];
+        Arrays.fill(lastSource, -1);
 
-        // Add edges between different components
-        for (int u = 0; u < graph.getN(); u++) {
-            int compU = nodeToComponent[u];
-            for (Edge edge : graph.getAdjList()[u]) {
-                int v = edge.to;
-                int compV = nodeToComponent[v];
+        // Members are ascending, so each condensation list keeps the original edge order
+        for (int compU = 0; compU < numComponents; compU++) {
+            for (int i = offsets[compU]; i < offsets[compU + 1]; i++) {
+                for (Edge edge : graph.getAdjList()[members[i]]) {
+                    int compV = componentOf[edge.to];
 
-                if (compU != compV) {
-                    String edgeKey = compU + "-" + compV;
-                    if (!addedEdges.contains(edgeKey)) {
+                    if (compU != compV && lastSource[compV] != compU) {
                         condensation.addEdge(compU, compV, edge.weight);
-                        addedEdges.add(edgeKey);
+                        lastSource[compV] = compU;
                     }
                 }
             }
@@ -120,8 +121,30 @@ public class TarjanSCC {
         return condensation;
     }
 
+    /**
+     * Condensation with edges implied by longer paths removed.
+     * The returned object holds the reduced graph and the number of edges dropped.
+     */
+    public TransitiveReduction buildReducedCondensation() {
+        return new TransitiveReduction(buildCondensation());
+    }
+
+    /**
+     * Boxed view of the components, built on first use
+     */
     public List<List<Integer>> getComponents() {
-        return components;
+        return result.asLists();
+    }
+
+    public ComponentResult getResult() {
+        return result;
+    }
+
+    /**
+     * Component index of every node, matching the order of getComponents()
+     */
+    public int[] getNodeToComponent() {
+        return result.getComponentOf();
     }
 
     public Metrics getMetrics() {
@@ -130,10 +153,14 @@ public class TarjanSCC {
 
 
     public List<Integer> getTaskOrder(List<Integer> sccTopoOrder) {
+        int[] offsets = result.getOffsets();
+        int[] members = result.getMembers();
         List<Integer> taskOrder = new ArrayList<>();
         for (int sccIdx : sccTopoOrder) {
-            taskOrder.addAll(components.get(sccIdx));
+            for (int i = offsets[sccIdx]; i < offsets[sccIdx + 1]; i++) {
+                taskOrder.add(members[i]);
+            }
         }
         return taskOrder;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,196 @@
+package graph.sched;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import graph.sched.ExecutionReport.TaskState;
+import graph.topo.TopologicalSort;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntFunction;
+
+
+/**
+ * Runs one task per vertex on a work-stealing pool in dependency order.
+ * Each vertex keeps an atomic count of unfinished predecessors; the task that
+ * brings a successor's count to zero forks it onto its own deque, so work is
+ * released as soon as it is ready instead of level by level.
+ *
+ * A failed task marks its descendants SKIPPED while independent tasks continue;
+ * with failFast the whole run is cancelled instead. cancel() stops launching
+ * new tasks, and tasks that never ran are reported as CANCELLED.
+ */
+public class DAGExecutor {
+    private final Graph graph;
+    private final List<Integer> topoOrder;
+    private final ForkJoinPool pool;
+    private boolean failFast;
+
+    public DAGExecutor(Graph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public DAGExecutor(Graph graph, ForkJoinPool pool) {
+        TopologicalSort topo = new TopologicalSort(graph);
+        if (!topo.isDAG()) {
+            throw new IllegalArgumentException("Task graph has a cycle; run it on the SCC condensation");
+        }
+        this.graph = graph;
+        this.topoOrder = topo.getOrder();
+        this.pool = pool;
+    }
+
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    /**
+     * Start a run; tasks.apply(v) supplies the work of vertex v
+     */
+    public Execution submit(IntFunction<? extends Callable<?>> tasks) {
+        Execution execution = new Execution(tasks);
+        execution.launch();
+        return execution;
+    }
+
+    public ExecutionReport execute(IntFunction<? extends Callable<?>> tasks) throws InterruptedException {
+        return submit(tasks).await();
+    }
+
+    public ExecutionReport execute(Runnable[] tasks) throws InterruptedException {
+        return execute(v -> Executors.callable(tasks[v]));
+    }
+
+    /**
+     * Handle of a running execution
+     */
+    public class Execution {
+        private final IntFunction<? extends Callable<?>> tasks;
+        private final int n;
+        private final AtomicIntegerArray remaining;
+        private final boolean[] poisoned; // a predecessor failed or was skipped
+        private final TaskState[] states;
+        private final Object[] results;
+        private final Throwable[] errors;
+        private final long[] readyNanos;
+        private final long[] startNanos;
+        private final long[] finishNanos;
+        private final AtomicInteger outstanding;
+        private final CountDownLatch done;
+        private volatile boolean cancelled;
+        private long launchNanos;
+        private long endNanos;
+
+        private Execution(IntFunction<? extends Callable<?>> tasks) {
+            this.tasks = tasks;
+            this.n = graph.getN();
+            this.remaining = new AtomicIntegerArray(n);
+            this.poisoned = new boolean[n];
+            this.states = new TaskState[n];
+            this.results = new Object[n];
+            this.errors = new Throwable[n];
+            this.readyNanos = new long[n];
+            this.startNanos = new long[n];
+            this.finishNanos = new long[n];
+            this.outstanding = new AtomicInteger(n);
+            this.done = new CountDownLatch(n == 0 ? 0 : 1);
+
+            for (int u = 0; u < n; u++) {
+                for (Edge edge : graph.getAdjList()[u]) {
+                    remaining.incrementAndGet(edge.to);
+                }
+            }
+        }
+
+        private void launch() {
+            launchNanos = System.nanoTime();
+            for (int v = 0; v < n; v++) {
+                if (remaining.get(v) == 0) {
+                    readyNanos[v] = launchNanos;
+                    int task = v;
+                    pool.execute(() -> run(task));
+                }
+            }
+        }
+
+        private void run(int v) {
+            startNanos[v] = System.nanoTime();
+            if (cancelled) {
+                states[v] = TaskState.CANCELLED;
+            } else if (poisoned[v]) {
+                states[v] = TaskState.SKIPPED;
+            } else {
+                try {
+                    results[v] = tasks.apply(v).call();
+                    states[v] = TaskState.SUCCEEDED;
+                } catch (Throwable t) {
+                    errors[v] = t;
+                    states[v] = TaskState.FAILED;
+                    if (failFast) {
+                        cancelled = true;
+                    }
+                }
+            }
+            finishNanos[v] = System.nanoTime();
+
+            boolean propagateFailure = states[v] == TaskState.FAILED || states[v] == TaskState.SKIPPED;
+            for (Edge edge : graph.getAdjList()[v]) {
+                int s = edge.to;
+                if (propagateFailure) {
+                    poisoned[s] = true;
+                }
+                // The atomic decrement publishes the writes above to whoever releases s
+                if (remaining.decrementAndGet(s) == 0) {
+                    readyNanos[s] = System.nanoTime();
+                    ForkJoinTask.adapt(() -> run(s)).fork();
+                }
+            }
+
+            if (outstanding.decrementAndGet() == 0) {
+                endNanos = System.nanoTime();
+                done.countDown();
+            }
+        }
+
+        /**
+         * Stop launching tasks; running tasks finish normally
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        public ExecutionReport await() throws InterruptedException {
+            done.await();
+            if (n == 0) {
+                endNanos = launchNanos;
+            }
+
+            double[] latency = new double[n];
+            double[] queueing = new double[n];
+            for (int v = 0; v < n; v++) {
+                latency[v] = (finishNanos[v] - startNanos[v]) / 1_000_000.0;
+                queueing[v] = (startNanos[v] - readyNanos[v]) / 1_000_000.0;
+            }
+
+            // Slowest chain of measured task latencies
+            double[] chain = new double[n];
+            double criticalPath = 0;
+            for (int u : topoOrder) {
+                chain[u] += latency[u];
+                criticalPath = Math.max(criticalPath, chain[u]);
+                for (Edge edge : graph.getAdjList()[u]) {
+                    chain[edge.to] = Math.max(chain[edge.to], chain[u]);
+                }
+            }
+
+            return new ExecutionReport(states.clone(), results.clone(), errors.clone(), latency, queueing,
+                    (endNanos - launchNanos) / 1_000_000.0, criticalPath);
+        }
+    }
+}
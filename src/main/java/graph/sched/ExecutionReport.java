@@ -0,0 +1,94 @@
+package graph.sched;
+
+import java.util.*;
+
+
+/**
+ * Outcome of one DAGExecutor run: per-task state, result, error and timings
+ */
+public class ExecutionReport {
+
+    public enum TaskState { SUCCEEDED, FAILED, SKIPPED, CANCELLED }
+
+    private final TaskState[] states;
+    private final Object[] results;
+    private final Throwable[] errors;
+    private final double[] latency;        // ms from start to finish of each task
+    private final double[] queueingDelay;  // ms from release to start of each task
+    private final double wallTime;         // ms for the whole run
+    private final double criticalPathTime; // ms of the slowest dependency chain
+
+    ExecutionReport(TaskState[] states, Object[] results, Throwable[] errors,
+                    double[] latency, double[] queueingDelay, double wallTime, double criticalPathTime) {
+        this.states = states;
+        this.results = results;
+        this.errors = errors;
+        this.latency = latency;
+        this.queueingDelay = queueingDelay;
+        this.wallTime = wallTime;
+        this.criticalPathTime = criticalPathTime;
+    }
+
+    public TaskState getState(int task) {
+        return states[task];
+    }
+
+    public Object getResult(int task) {
+        return results[task];
+    }
+
+    public Throwable getError(int task) {
+        return errors[task];
+    }
+
+    public double getLatency(int task) {
+        return latency[task];
+    }
+
+    public double getQueueingDelay(int task) {
+        return queueingDelay[task];
+    }
+
+    public double getWallTime() {
+        return wallTime;
+    }
+
+    public double getCriticalPathTime() {
+        return criticalPathTime;
+    }
+
+    /**
+     * Critical path time over wall time: 1.0 means the run was as fast as its
+     * slowest dependency chain allows
+     */
+    public double getCriticalPathEfficiency() {
+        return wallTime == 0 ? 1.0 : criticalPathTime / wallTime;
+    }
+
+    public int count(TaskState state) {
+        int count = 0;
+        for (TaskState s : states) {
+            if (s == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean isSuccessful() {
+        return count(TaskState.SUCCEEDED) == states.length;
+    }
+
+    public double getAverageQueueingDelay() {
+        return Arrays.stream(queueingDelay).average().orElse(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Succeeded: %d, Failed: %d, Skipped: %d, Cancelled: %d, "
+                        + "Wall: %.3f ms, Critical path: %.3f ms, Efficiency: %.1f%%, Avg queueing: %.3f ms",
+                count(TaskState.SUCCEEDED), count(TaskState.FAILED), count(TaskState.SKIPPED),
+                count(TaskState.CANCELLED), wallTime, criticalPathTime,
+                100 * getCriticalPathEfficiency(), getAverageQueueingDelay());
+    }
+}
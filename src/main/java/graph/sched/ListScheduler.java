@@ -0,0 +1,231 @@
+package graph.sched;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import graph.scc.ComponentResult;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import graph.util.IntMinHeap;
+import java.util.*;
+import java.util.stream.IntStream;
+
+
+/**
+ * Event-driven list scheduling of the task DAG on P identical workers.
+ *
+ * Tasks are the strongly connected components: a cycle of dependencies has to run
+ * as one block, so a component's duration is the sum of its members' durations.
+ * Under the "edge" weight model a condensation edge weight is the minimum lag
+ * between the predecessor finishing and the successor starting; under any other
+ * model there is no lag.
+ *
+ * Whenever a worker is idle it takes the released task with the longest remaining
+ * critical path (bottom level). Released, ready and running tasks each live in a
+ * primitive heap, so a simulation costs O((n + m) log n).
+ */
+public class ListScheduler {
+    private final int tasks;
+    private final long[] duration;
+    private final int[] offsets;   // successors of c are targets[offsets[c] .. offsets[c + 1])
+    private final int[] targets;
+    private final long[] lags;
+    private final int[] inDegree;
+    private final long[] bottomLevel;
+    private final long totalWork;
+    private final int[] componentOf;
+
+    /**
+     * taskDurations[v] is the duration of original task v
+     */
+    public ListScheduler(TarjanSCC scc, Graph graph, int[] taskDurations) {
+        ComponentResult components = scc.getResult();
+        Graph condensation = scc.buildCondensation();
+        boolean edgeLags = "edge".equals(graph.getWeightModel());
+
+        this.tasks = condensation.getN();
+        this.componentOf = components.getComponentOf();
+        this.duration = new long[tasks];
+        long work = 0;
+        for (int v = 0; v < graph.getN(); v++) {
+            duration[componentOf[v]] += taskDurations[v];
+            work += taskDurations[v];
+        }
+        this.totalWork = work;
+
+        // Flatten the condensation
+        this.offsets = new int[tasks + 1];
+        for (int c = 0; c < tasks; c++) {
+            offsets[c + 1] = offsets[c] + condensation.getAdjList()[c].size();
+        }
+        this.targets = new int[offsets[tasks]];
+        this.lags = new long[offsets[tasks]];
+        this.inDegree = new int[tasks];
+        for (int c = 0, e = 0; c < tasks; c++) {
+            for (Edge edge : condensation.getAdjList()[c]) {
+                targets[e] = edge.to;
+                lags[e] = edgeLags ? edge.weight : 0;
+                inDegree[edge.to]++;
+                e++;
+            }
+        }
+
+        // Bottom levels: own duration plus the heaviest chain of lags and durations after it
+        this.bottomLevel = new long[tasks];
+        List<Integer> order = new TopologicalSort(condensation).getOrder();
+        for (int i = order.size() - 1; i >= 0; i--) {
+            int c = order.get(i);
+            long tail = 0;
+            for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                tail = Math.max(tail, lags[e] + bottomLevel[targets[e]]);
+            }
+            bottomLevel[c] = duration[c] + tail;
+        }
+    }
+
+    /**
+     * Unit duration for every task
+     */
+    public static int[] unitDurations(int n) {
+        int[] durations = new int[n];
+        Arrays.fill(durations, 1);
+        return durations;
+    }
+
+    public Schedule simulate(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Need at least one worker");
+        }
+        Metrics metrics = new Metrics();
+        long startTime = System.nanoTime();
+
+        long[] start = new long[tasks];
+        long[] finish = new long[tasks];
+        int[] assigned = new int[tasks];
+        long[] release = new long[tasks];
+        int[] remaining = inDegree.clone();
+
+        IntMinHeap pending = new IntMinHeap(tasks); // key: release time
+        IntMinHeap ready = new IntMinHeap(tasks);   // key: -bottom level
+        IntMinHeap running = new IntMinHeap(tasks); // key: finish time
+
+        // Idle workers, lowest id first
+        int[] idle = new int[workers];
+        int idleCount = workers;
+        for (int w = 0; w < workers; w++) {
+            idle[w] = workers - 1 - w;
+        }
+
+        for (int c = 0; c < tasks; c++) {
+            if (remaining[c] == 0) {
+                pending.insert(c, 0);
+            }
+        }
+
+        long time = 0;
+        int completed = 0;
+        while (completed < tasks) {
+            // Released tasks become ready
+            while (!pending.isEmpty() && pending.peekKey() <= time) {
+                int c = pending.pop();
+                ready.insert(c, -bottomLevel[c]);
+            }
+
+            // Dispatch onto idle workers
+            while (idleCount > 0 && !ready.isEmpty()) {
+                int c = ready.pop();
+                start[c] = time;
+                finish[c] = time + duration[c];
+                assigned[c] = idle[--idleCount];
+                running.insert(c, finish[c]);
+                metrics.incrementDispatches();
+            }
+
+            // Jump to the next event
+            long next = Long.MAX_VALUE;
+            if (!running.isEmpty()) {
+                next = running.peekKey();
+            }
+            if (!pending.isEmpty()) {
+                next = Math.min(next, pending.peekKey());
+            }
+            if (next == Long.MAX_VALUE) {
+                throw new IllegalStateException("No runnable task left; dependency graph is cyclic");
+            }
+            time = next;
+
+            while (!running.isEmpty() && running.peekKey() == time) {
+                int c = running.pop();
+                metrics.incrementEvents();
+                completed++;
+                idle[idleCount++] = assigned[c];
+
+                for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                    int s = targets[e];
+                    release[s] = Math.max(release[s], time + lags[e]);
+                    if (--remaining[s] == 0) {
+                        pending.insert(s, release[s]);
+                    }
+                }
+            }
+        }
+
+        long makespan = 0;
+        for (int c = 0; c < tasks; c++) {
+            makespan = Math.max(makespan, finish[c]);
+        }
+
+        long endTime = System.nanoTime();
+        metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+        return new Schedule(workers, start, finish, assigned, makespan, totalWork, metrics);
+    }
+
+    /**
+     * Makespan for every worker count 1..maxWorkers, simulated in parallel.
+     * Index p - 1 holds the makespan with p workers.
+     */
+    public long[] sweep(int maxWorkers) {
+        long[] makespans = new long[maxWorkers];
+        IntStream.rangeClosed(1, maxWorkers).parallel()
+                .forEach(p -> makespans[p - 1] = simulate(p).getMakespan());
+        return makespans;
+    }
+
+    /**
+     * Smallest worker count whose makespan is within the tolerance (e.g. 0.05)
+     * of the best makespan in the sweep
+     */
+    public static int findKnee(long[] makespans, double tolerance) {
+        long best = Long.MAX_VALUE;
+        for (long m : makespans) {
+            best = Math.min(best, m);
+        }
+        for (int p = 1; p <= makespans.length; p++) {
+            if (makespans[p - 1] <= best * (1 + tolerance)) {
+                return p;
+            }
+        }
+        return makespans.length;
+    }
+
+    /**
+     * Lower bound on the makespan with unlimited workers: the critical path
+     */
+    public long getCriticalPathLength() {
+        long best = 0;
+        for (long level : bottomLevel) {
+            best = Math.max(best, level);
+        }
+        return best;
+    }
+
+    public int getTaskCount() {
+        return tasks;
+    }
+
+    /**
+     * Condensation task that runs original vertex v
+     */
+    public int getTaskOf(int v) {
+        return componentOf[v];
+    }
+}
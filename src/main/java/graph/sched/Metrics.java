@@ -0,0 +1,43 @@
+package graph.sched;
+
+public class Metrics {
+    private long events;
+    private long dispatches;
+    private double executionTime; // in milliseconds
+
+    public Metrics() {
+        this.events = 0;
+        this.dispatches = 0;
+        this.executionTime = 0.0;
+    }
+
+    public void incrementEvents() {
+        events++;
+    }
+
+    public void incrementDispatches() {
+        dispatches++;
+    }
+
+    public void setExecutionTime(double time) {
+        this.executionTime = time;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    public long getDispatches() {
+        return dispatches;
+    }
+
+    public double getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Events: %d, Dispatches: %d, Time: %.3f ms",
+                events, dispatches, executionTime);
+    }
+}
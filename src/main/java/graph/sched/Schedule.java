@@ -0,0 +1,63 @@
+package graph.sched;
+
+
+/**
+ * Result of one list-scheduling simulation: start/finish time and worker of every
+ * condensation task, plus makespan and utilization
+ */
+public class Schedule {
+    private final int workers;
+    private final long[] start;
+    private final long[] finish;
+    private final int[] worker;
+    private final long makespan;
+    private final long totalWork;
+    private final Metrics metrics;
+
+    Schedule(int workers, long[] start, long[] finish, int[] worker, long makespan, long totalWork, Metrics metrics) {
+        this.workers = workers;
+        this.start = start;
+        this.finish = finish;
+        this.worker = worker;
+        this.makespan = makespan;
+        this.totalWork = totalWork;
+        this.metrics = metrics;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public long getStart(int task) {
+        return start[task];
+    }
+
+    public long getFinish(int task) {
+        return finish[task];
+    }
+
+    public int getWorker(int task) {
+        return worker[task];
+    }
+
+    public long getMakespan() {
+        return makespan;
+    }
+
+    /**
+     * Busy time over available time (workers x makespan)
+     */
+    public double getUtilization() {
+        return makespan == 0 ? 0.0 : (double) totalWork / ((double) workers * makespan);
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Workers: %d, Makespan: %d, Utilization: %.1f%%, %s",
+                workers, makespan, 100 * getUtilization(), metrics);
+    }
+}
@@ -1,8 +1,10 @@
 package graph.topo;
 
 public class Metrics {
-    private int pushes;
-    private int pops;
+    private long pushes;
+    private long pops;
+    private long allocatedBytes = -1; // by the running thread, -1 if not measured
+    private long retainedBytes;       // estimated size of the structures the result keeps
     private double executionTime;
 
     public Metrics() {
@@ -23,14 +25,30 @@ public class Metrics {
         this.executionTime = time;
     }
 
-    public int getPushes() {
+    public long getPushes() {
         return pushes;
     }
 
-    public int getPops() {
+    public long getPops() {
         return pops;
     }
 
+    public void setAllocatedBytes(long bytes) {
+        this.allocatedBytes = bytes;
+    }
+
+    public void setRetainedBytes(long bytes) {
+        this.retainedBytes = bytes;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
     public double getExecutionTime() {
         return executionTime;
     }
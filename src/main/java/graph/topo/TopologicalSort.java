@@ -2,6 +2,7 @@ package graph.topo;
 
 import graph.Graph;
 import graph.Graph.Edge;
+import graph.util.MemoryMeter;
 import java.util.*;
 
 
@@ -12,29 +13,43 @@ public class TopologicalSort {
     private Metrics metrics;
 
     public TopologicalSort(Graph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Starts from in-degrees computed by inDegrees(graph); the array is copied, not modified.
+     * null computes them as part of the timed run.
+     */
+    public TopologicalSort(Graph graph, int[] inDegree) {
+        long allocationStart = MemoryMeter.allocatedBytes();
         this.graph = graph;
         this.order = new ArrayList<>();
         this.metrics = new Metrics();
         this.isDAG = false;
 
         long startTime = System.nanoTime();
-        kahnSort();
+        kahnSort(inDegree == null ? inDegrees(graph) : inDegree.clone());
         long endTime = System.nanoTime();
 
         metrics.setExecutionTime((endTime - startTime) / 1_000_000.0);
+        metrics.setAllocatedBytes(MemoryMeter.allocatedSince(allocationStart));
+        metrics.setRetainedBytes(MemoryMeter.integerList(order));
     }
 
 
-    private void kahnSort() {
-        int n = graph.getN();
-        int[] inDegree = new int[n];
-
-        // Calculate in-degrees
-        for (int u = 0; u < n; u++) {
+    public static int[] inDegrees(Graph graph) {
+        int[] inDegree = new int[graph.getN()];
+        for (int u = 0; u < graph.getN(); u++) {
             for (Edge edge : graph.getAdjList()[u]) {
                 inDegree[edge.to]++;
             }
         }
+        return inDegree;
+    }
+
+
+    private void kahnSort(int[] inDegree) {
+        int n = graph.getN();
 
         // Initialize queue with all vertices having in-degree 0
         Queue<Integer> queue = new LinkedList<>();
@@ -0,0 +1,145 @@
+package graph.topo;
+
+import graph.Graph;
+import graph.Graph.Edge;
+import java.util.*;
+import java.util.stream.IntStream;
+
+
+/**
+ * Transitive reduction of a DAG (typically the SCC condensation).
+ * An edge u -> v is dropped when v is also reachable through another successor of u.
+ *
+ * Targets are split into chunks of CHUNK_WORDS * 64 vertices by topological position.
+ * For each chunk, reachability restricted to that chunk is a small bitset per vertex,
+ * filled in one reverse topological sweep; chunks are independent and run in parallel,
+ * so memory stays at O(n * CHUNK_WORDS) words per worker instead of O(n^2 / 64).
+ *
+ * Reachability is unchanged, and so is the Kahn order: the edge that releases a vertex
+ * (from its last finished predecessor) is never redundant.
+ */
+public class TransitiveReduction {
+    static final int CHUNK_WORDS = 16;
+
+    private final Graph dag;
+    private final Graph reduced;
+    private final int originalEdges;
+    private int edgesRemoved;
+    private final double executionTime;
+
+    public TransitiveReduction(Graph dag) {
+        this.dag = dag;
+
+        long startTime = System.nanoTime();
+
+        TopologicalSort topo = new TopologicalSort(dag);
+        if (!topo.isDAG()) {
+            throw new IllegalArgumentException("Transitive reduction requires a DAG");
+        }
+
+        int n = dag.getN();
+        int[] order = new int[n];
+        int[] pos = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = topo.getOrder().get(i);
+            pos[order[i]] = i;
+        }
+
+        // Global edge ids: edges of u are edgeBase[u] .. edgeBase[u + 1]
+        List<Edge>[] adj = dag.getAdjList();
+        int[] edgeBase = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            edgeBase[u + 1] = edgeBase[u] + adj[u].size();
+        }
+        this.originalEdges = edgeBase[n];
+
+        boolean[] redundant = new boolean[originalEdges];
+        int chunkSize = CHUNK_WORDS * 64;
+        int chunks = (n + chunkSize - 1) / chunkSize;
+
+        IntStream.range(0, chunks).parallel()
+                .forEach(c -> reduceChunk(c * chunkSize, Math.min(n, (c + 1) * chunkSize),
+                        order, pos, edgeBase, redundant));
+
+        this.reduced = new Graph(n, dag.isDirected());
+        reduced.setWeightModel(dag.getWeightModel());
+        for (int u = 0; u < n; u++) {
+            int e = edgeBase[u];
+            for (Edge edge : adj[u]) {
+                if (redundant[e++]) {
+                    edgesRemoved++;
+                } else {
+                    reduced.addEdge(u, edge.to, edge.weight);
+                }
+            }
+        }
+
+        long endTime = System.nanoTime();
+        this.executionTime = (endTime - startTime) / 1_000_000.0;
+    }
+
+    /**
+     * Mark redundant edges whose target lies at topological positions [lo, hi).
+     * reach[p * W ..] holds the chunk vertices strictly reachable from order[p].
+     */
+    private void reduceChunk(int lo, int hi, int[] order, int[] pos, int[] edgeBase, boolean[] redundant) {
+        List<Edge>[] adj = dag.getAdjList();
+        long[] reach = new long[hi * CHUNK_WORDS];
+
+        // Vertices at positions >= hi cannot reach the chunk, so the sweep starts below hi
+        for (int p = hi - 1; p >= 0; p--) {
+            int u = order[p];
+            int base = p * CHUNK_WORDS;
+
+            for (Edge edge : adj[u]) {
+                int q = pos[edge.to];
+                if (q < hi) {
+                    int other = q * CHUNK_WORDS;
+                    for (int k = 0; k < CHUNK_WORDS; k++) {
+                        reach[base + k] |= reach[other + k];
+                    }
+                }
+            }
+
+            // An edge into the chunk is redundant if its target is already covered,
+            // either through another successor or by an earlier parallel edge
+            int e = edgeBase[u];
+            for (Edge edge : adj[u]) {
+                int q = pos[edge.to];
+                if (q >= lo && q < hi) {
+                    int bit = q - lo;
+                    int word = base + (bit >>> 6);
+                    long mask = 1L << (bit & 63);
+                    if ((reach[word] & mask) != 0) {
+                        redundant[e] = true;
+                    } else {
+                        reach[word] |= mask;
+                    }
+                }
+                e++;
+            }
+        }
+    }
+
+    public Graph getReducedGraph() {
+        return reduced;
+    }
+
+    public int getOriginalEdges() {
+        return originalEdges;
+    }
+
+    public int getEdgesRemoved() {
+        return edgesRemoved;
+    }
+
+    public double getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Edges: %d -> %d (removed %d), Time: %.3f ms",
+                originalEdges, originalEdges - edgesRemoved, edgesRemoved, executionTime);
+    }
+}
@@ -0,0 +1,268 @@
+package graph.util;
+
+import graph.Graph;
+import graph.GraphBuilder;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+
+/**
+ * Import plain-text edge lists ("u v", "u v w", CSV/TSV, SNAP).
+ * The file is memory-mapped in chunks split at line boundaries, and the chunks
+ * are parsed in parallel with a hand-written integer parser straight into a
+ * GraphBuilder, one buffer per chunk, so edge order matches the file.
+ *
+ * Fields may be separated by spaces, tabs, commas or semicolons. Lines starting
+ * with '#' or '%', blank lines and lines that do not start with a number
+ * (such as CSV headers) are skipped. A missing weight defaults to 1. Vertices
+ * and weights must be whole numbers in int range; anything else is an IOException.
+ */
+public class EdgeListImporter {
+    private static final long CHUNK_BYTES = 64L << 20;
+    private static final int DEFAULT_WEIGHT = 1;
+
+    private final boolean directed;
+    private long edgesRead;
+    private long linesSkipped;
+    private double executionTime;
+
+    public EdgeListImporter(boolean directed) {
+        this.directed = directed;
+    }
+
+    public static Graph load(String filepath) throws IOException {
+        return new EdgeListImporter(true).importFile(filepath);
+    }
+
+    public Graph importFile(String filepath) throws IOException {
+        long startTime = System.nanoTime();
+        Path path = Paths.get(filepath);
+        GraphBuilder builder = new GraphBuilder(directed);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            int chunks = bounds.length - 1;
+
+            GraphBuilder.EdgeBuffer[] buffers = new GraphBuilder.EdgeBuffer[chunks];
+            for (int c = 0; c < chunks; c++) {
+                buffers[c] = builder.newBuffer();
+            }
+
+            long[] skipped = new long[chunks];
+            IOException[] failure = new IOException[1];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                try {
+                    MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY,
+                            bounds[c], bounds[c + 1] - bounds[c]);
+                    skipped[c] = parseChunk(bytes, bounds[c], buffers[c]);
+                } catch (IOException e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+
+            edgesRead = 0;
+            linesSkipped = 0;
+            for (int c = 0; c < chunks; c++) {
+                edgesRead += buffers[c].size();
+                linesSkipped += skipped[c];
+            }
+        }
+
+        Graph g = builder.build();
+        long endTime = System.nanoTime();
+        executionTime = (endTime - startTime) / 1_000_000.0;
+        return g;
+    }
+
+    /**
+     * Chunk start offsets, each moved forward to the byte after the next newline
+     */
+    private static long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int chunks = (int) Math.max(1, (size + CHUNK_BYTES - 1) / CHUNK_BYTES);
+        long[] bounds = new long[chunks + 1];
+        bounds[chunks] = size;
+
+        for (int c = 1; c < chunks; c++) {
+            long p = Math.max(c * CHUNK_BYTES, bounds[c - 1]);
+            // Scan ahead in small windows until a newline is found
+            while (p < size) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, p, Math.min(4096, size - p));
+                int i = 0;
+                while (i < window.limit() && window.get(i) != '\n') {
+                    i++;
+                }
+                p += i;
+                if (i < window.limit()) {
+                    p++;
+                    break;
+                }
+            }
+            bounds[c] = Math.min(p, size);
+        }
+        return bounds;
+    }
+
+    /**
+     * Parse whole lines of one chunk. Returns the number of lines skipped.
+     */
+    private static long parseChunk(MappedByteBuffer bytes, long base, GraphBuilder.EdgeBuffer out) throws IOException {
+        int limit = bytes.limit();
+        int i = 0;
+        long skipped = 0;
+
+        while (i < limit) {
+            // Skip leading blanks
+            while (i < limit && isBlank(bytes.get(i))) {
+                i++;
+            }
+            if (i >= limit) {
+                break;
+            }
+
+            byte first = bytes.get(i);
+            if (first == '\n') {
+                i++;
+                continue;
+            }
+            if (!isDigit(first) && first != '-') {
+                skipped++;
+                i = skipLine(bytes, i, limit);
+                continue;
+            }
+
+            long lineStart = base + i;
+
+            // Source
+            // Stop as soon as a value leaves the int range, before the long can wrap
+            long value = 0;
+            while (i < limit && isDigit(bytes.get(i))) {
+                value = value * 10 + (bytes.get(i) - '0');
+                i++;
+                if (value > Integer.MAX_VALUE) {
+                    break;
+                }
+            }
+            if (first == '-' || value > Integer.MAX_VALUE || !endsToken(bytes, i, limit)) {
+                throw new IOException("Invalid source vertex at byte " + lineStart);
+            }
+            int u = (int) value;
+
+            // Target
+            i = skipSeparators(bytes, i, limit);
+            if (i >= limit || !isDigit(bytes.get(i))) {
+                throw new IOException("Missing target vertex at byte " + lineStart);
+            }
+            value = 0;
+            while (i < limit && isDigit(bytes.get(i))) {
+                value = value * 10 + (bytes.get(i) - '0');
+                i++;
+                if (value > Integer.MAX_VALUE) {
+                    break;
+                }
+            }
+            if (value > Integer.MAX_VALUE || !endsToken(bytes, i, limit)) {
+                throw new IOException("Invalid target vertex at byte " + lineStart);
+            }
+            int v = (int) value;
+
+            // Optional weight; a third token must be an int if present
+            int weight = DEFAULT_WEIGHT;
+            i = skipSeparators(bytes, i, limit);
+            if (i < limit && bytes.get(i) != '\n') {
+                boolean negative = bytes.get(i) == '-';
+                if (negative) {
+                    i++;
+                }
+                // One more on the negative side so Integer.MIN_VALUE is accepted
+                long max = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+                int digitsStart = i;
+                value = 0;
+                while (i < limit && isDigit(bytes.get(i))) {
+                    value = value * 10 + (bytes.get(i) - '0');
+                    i++;
+                    if (value > max) {
+                        break;
+                    }
+                }
+                // Non-numeric text, a lone '-', a fraction or trailing junk is rejected, not defaulted or truncated
+                if (value > max || i == digitsStart || !endsToken(bytes, i, limit)) {
+                    throw new IOException("Invalid or out-of-range weight at byte " + lineStart);
+                }
+                weight = (int) (negative ? -value : value);
+            }
+
+            out.addEdge(u, v, weight);
+
+            // Ignore any further columns
+            i = skipLine(bytes, i, limit);
+        }
+        return skipped;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * True if a number ending at i is followed by a separator, a line end or the end of input
+     */
+    private static boolean endsToken(MappedByteBuffer bytes, int i, int limit) {
+        if (i >= limit) {
+            return true;
+        }
+        byte b = bytes.get(i);
+        return b == '\n' || b == ' ' || b == '\t' || b == ',' || b == ';' || b == '\r';
+    }
+
+    private static int skipSeparators(MappedByteBuffer bytes, int i, int limit) {
+        while (i < limit) {
+            byte b = bytes.get(i);
+            if (b != ' ' && b != '\t' && b != ',' && b != ';' && b != '\r') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipLine(MappedByteBuffer bytes, int i, int limit) {
+        while (i < limit && bytes.get(i) != '\n') {
+            i++;
+        }
+        return i + 1;
+    }
+
+    public long getEdgesRead() {
+        return edgesRead;
+    }
+
+    public long getLinesSkipped() {
+        return linesSkipped;
+    }
+
+    public double getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Edges: %d, Skipped lines: %d, Time: %.3f ms",
+                edgesRead, linesSkipped, executionTime);
+    }
+}
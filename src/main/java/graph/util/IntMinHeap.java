@@ -0,0 +1,134 @@
+package graph.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Indexed binary min-heap over vertex ids 0..capacity-1 with long keys.
+ * Equal keys are popped in ascending vertex order, so results are deterministic.
+ * No boxing: the heap, positions and keys are plain arrays.
+ */
+public class IntMinHeap {
+    private final int[] heap;
+    private final int[] position; // index of a vertex in heap, or -1 if absent
+    private final long[] key;
+    private int size;
+
+    public IntMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.key = new long[capacity];
+        this.size = 0;
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int v) {
+        return position[v] != -1;
+    }
+
+    public long getKey(int v) {
+        return key[v];
+    }
+
+    public void insert(int v, long k) {
+        if (position[v] != -1) {
+            throw new IllegalArgumentException("Vertex " + v + " is already in the heap");
+        }
+        key[v] = k;
+        heap[size] = v;
+        position[v] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Insert v, or lower its key if it is already present with a larger one
+     */
+    public void insertOrDecrease(int v, long k) {
+        if (position[v] == -1) {
+            insert(v, k);
+        } else if (k < key[v]) {
+            key[v] = k;
+            siftUp(position[v]);
+        }
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    public long peekKey() {
+        return key[peek()];
+    }
+
+    public int pop() {
+        int top = peek();
+        size--;
+        position[top] = -1;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private boolean less(int a, int b) {
+        return key[a] < key[b] || (key[a] == key[b] && a < b);
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (!less(v, heap[p])) {
+                break;
+            }
+            heap[i] = heap[p];
+            position[heap[i]] = i;
+            i = p;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= size) {
+                break;
+            }
+            if (c + 1 < size && less(heap[c + 1], heap[c])) {
+                c++;
+            }
+            if (!less(heap[c], v)) {
+                break;
+            }
+            heap[i] = heap[c];
+            position[heap[i]] = i;
+            i = c;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+}
@@ -0,0 +1,103 @@
+package graph.util;
+
+import graph.Graph;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+
+/**
+ * Allocation counter and shallow size estimates for the algorithm metrics.
+ *
+ * allocatedBytes() reads the per-thread allocation counter of HotSpot's
+ * com.sun.management.ThreadMXBean, so it only sees allocations made on the
+ * calling thread; it returns -1 where the counter is not available.
+ *
+ * Size estimates assume a 64-bit JVM with compressed oops: 12-byte object
+ * headers, 16-byte array headers, 4-byte references, 8-byte alignment.
+ */
+public final class MemoryMeter {
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private MemoryMeter() {
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 if unsupported
+     */
+    public static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Bytes allocated by the current thread since start, or -1 if unsupported
+     */
+    public static long allocatedSince(long start) {
+        return start < 0 ? -1 : allocatedBytes() - start;
+    }
+
+    public static long intArray(int length) {
+        return align(16 + 4L * length);
+    }
+
+    public static long longArray(int length) {
+        return align(16 + 8L * length);
+    }
+
+    public static long booleanArray(int length) {
+        return align(16 + (long) length);
+    }
+
+    public static long referenceArray(int length) {
+        return align(16 + 4L * length);
+    }
+
+    /**
+     * ArrayList of boxed Integers; values outside the Integer cache are counted as separate objects
+     */
+    public static long integerList(List<Integer> list) {
+        long bytes = arrayList(list.size());
+        for (int value : list) {
+            if (value < -128 || value > 127) {
+                bytes += 16;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Adjacency lists of Edge objects: one ArrayList per vertex plus 24 bytes per edge
+     */
+    public static long adjacency(List<Graph.Edge>[] adjList) {
+        long bytes = referenceArray(adjList.length);
+        for (List<Graph.Edge> edges : adjList) {
+            bytes += arrayList(edges.size()) + 24L * edges.size();
+        }
+        return bytes;
+    }
+
+    public static long graph(Graph graph) {
+        return 32 + adjacency(graph.getAdjList());
+    }
+
+    private static long arrayList(int size) {
+        // Object header, size, modCount and array reference, plus the backing array (capacity >= size)
+        return 24 + referenceArray(size);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
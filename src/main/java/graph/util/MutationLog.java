@@ -0,0 +1,559 @@
+package graph.util;
+
+import graph.Graph;
+import graph.Graph.Edge;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+
+/**
+ * Write-ahead log of graph mutations with periodic binary snapshots, for fast restart.
+ *
+ * Directory layout: snapshot-SEQ.bin holds the graph after mutation SEQ, and
+ * log-SEQ.wal holds every mutation after SEQ until the next log starts. Recovery
+ * loads the newest valid snapshot and replays the logs from there; a torn or corrupt
+ * record at the end of the last log is truncated away.
+ *
+ * The previous snapshot and its log are kept until the next snapshot is on disk,
+ * so a snapshot that cannot be read is recovered from the one before it. If the
+ * logs do not reach every mutation on disk, recover() fails instead of returning
+ * an older graph.
+ *
+ * Mutations are validated, appended to an in-memory buffer and then applied to the
+ * graph under one lock. sync() makes them durable with group commit: whichever caller
+ * gets the flush lock writes and forces everything buffered so far, and callers whose
+ * records were covered by that force return without touching the disk.
+ */
+public class MutationLog implements AutoCloseable {
+    private static final int SNAPSHOT_MAGIC = 0x47534E31; // "GSN1"
+    private static final int RECORD_BYTES = 1 + 8 + 4 + 4 + 4 + 4; // op, seq, u, v, w, crc
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private static final byte ADD_EDGE = 1;
+    private static final byte REMOVE_EDGE = 2;
+    private static final byte SET_WEIGHT = 3;
+
+    private final Path directory;
+    private final Graph graph;
+    // Lock order: snapshotLock, flushLock, appendLock
+    private final Object snapshotLock = new Object();
+    private final Object flushLock = new Object();
+    private final Object appendLock = new Object();
+
+    private FileChannel channel;
+    private long logSequence;      // the open log holds the mutations after this one
+    private ByteBuffer pending;    // records not yet written to the channel
+    private long lastSequence;     // last sequence appended
+    private long pendingSequence;  // last sequence in pending
+    private volatile long durableSequence;
+    private long snapshotSequence; // newest snapshot known to be readable
+    private volatile int snapshotInterval;
+    private int replayed;
+    private final List<Long> skippedSnapshots = new ArrayList<>();
+
+    private MutationLog(Path directory, Graph graph, long sequence) {
+        this.directory = directory;
+        this.graph = graph;
+        this.pending = ByteBuffer.allocate(64 * RECORD_BYTES);
+        this.lastSequence = sequence;
+        this.pendingSequence = sequence;
+        this.durableSequence = sequence;
+        this.snapshotSequence = sequence;
+        this.logSequence = sequence;
+        this.snapshotInterval = 0;
+    }
+
+    /**
+     * Start a new log for the graph; any previous state in the directory is replaced
+     */
+    public static MutationLog create(String directory, Graph graph) throws IOException {
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        deleteMatching(dir, "snapshot-*.bin");
+        deleteMatching(dir, "log-*.wal");
+        deleteMatching(dir, "snapshot-*.tmp");
+        MutationLog log = new MutationLog(dir, graph, 0);
+        log.writeSnapshot(0, log.copyGraph());
+        log.openLog(0, true);
+        return log;
+    }
+
+    /**
+     * Load the newest readable snapshot and replay the logs behind it.
+     * Snapshots that could not be read are listed by getSkippedSnapshots().
+     */
+    public static MutationLog recover(String directory) throws IOException {
+        Path dir = Paths.get(directory);
+        List<Long> snapshots = listSequences(dir, "snapshot-", ".bin");
+        Collections.sort(snapshots, Collections.reverseOrder());
+
+        List<IOException> failures = new ArrayList<>();
+        for (long seq : snapshots) {
+            Graph g;
+            try {
+                g = readSnapshot(dir.resolve("snapshot-" + seq + ".bin"), seq);
+            } catch (IOException e) {
+                failures.add(new IOException("Snapshot " + seq + ": " + e.getMessage(), e));
+                continue;
+            }
+            MutationLog log = new MutationLog(dir, g, seq);
+            log.skippedSnapshots.addAll(snapshots.subList(0, failures.size()));
+            log.replay();
+            return log;
+        }
+        FileNotFoundException missing = new FileNotFoundException("No valid snapshot in " + directory);
+        failures.forEach(missing::addSuppressed);
+        throw missing;
+    }
+
+    /**
+     * Take a snapshot automatically after this many mutations (0 disables)
+     */
+    public void setSnapshotInterval(int interval) {
+        this.snapshotInterval = interval;
+    }
+
+    // Each mutator appends its record before changing the graph, so a failed append changes neither
+    public boolean addEdge(int u, int v, int weight) throws IOException {
+        checkVertices(u, v);
+        synchronized (appendLock) {
+            append(ADD_EDGE, u, v, weight);
+            graph.addEdge(u, v, weight);
+        }
+        maybeSnapshot();
+        return true;
+    }
+
+    public boolean removeEdge(int u, int v) throws IOException {
+        checkVertices(u, v);
+        synchronized (appendLock) {
+            if (graph.findEdge(u, v) == null) {
+                return false;
+            }
+            append(REMOVE_EDGE, u, v, 0);
+            graph.removeEdge(u, v);
+        }
+        maybeSnapshot();
+        return true;
+    }
+
+    public boolean setEdgeWeight(int u, int v, int weight) throws IOException {
+        checkVertices(u, v);
+        synchronized (appendLock) {
+            if (graph.findEdge(u, v) == null) {
+                return false;
+            }
+            append(SET_WEIGHT, u, v, weight);
+            graph.setEdgeWeight(u, v, weight);
+        }
+        maybeSnapshot();
+        return true;
+    }
+
+    private void checkVertices(int u, int v) {
+        if (u < 0 || v < 0 || u >= graph.getN() || v >= graph.getN()) {
+            throw new IllegalArgumentException("Vertex out of range in edge " + u + " -> " + v);
+        }
+    }
+
+    private void append(byte op, int u, int v, int w) throws IOException {
+        if (pending.remaining() < RECORD_BYTES) {
+            if (pending.position() >= FLUSH_BYTES) {
+                // Bound memory: hand the records to the OS without forcing them
+                writePending();
+            } else {
+                ByteBuffer bigger = ByteBuffer.allocate(pending.capacity() * 2);
+                pending.flip();
+                bigger.put(pending);
+                pending = bigger;
+            }
+        }
+        long seq = ++lastSequence;
+        int start = pending.position();
+        pending.put(op).putLong(seq).putInt(u).putInt(v).putInt(w);
+        CRC32 crc = new CRC32();
+        crc.update(pending.array(), start, RECORD_BYTES - 4);
+        pending.putInt((int) crc.getValue());
+        pendingSequence = seq;
+    }
+
+    /**
+     * Make every mutation appended so far durable
+     */
+    public void sync() throws IOException {
+        long target;
+        synchronized (appendLock) {
+            target = lastSequence;
+        }
+        if (durableSequence >= target) {
+            return;
+        }
+        synchronized (flushLock) {
+            // Another caller may have forced our records while we waited
+            if (durableSequence >= target) {
+                return;
+            }
+            long covered;
+            synchronized (appendLock) {
+                covered = pendingSequence;
+                writePending();
+            }
+            channel.force(false);
+            durableSequence = covered;
+        }
+    }
+
+    // Caller holds appendLock. On a failed write the unwritten bytes stay in pending.
+    private void writePending() throws IOException {
+        pending.flip();
+        try {
+            while (pending.hasRemaining()) {
+                channel.write(pending);
+            }
+        } finally {
+            pending.compact();
+        }
+    }
+
+    private void maybeSnapshot() throws IOException {
+        synchronized (appendLock) {
+            if (!snapshotDue()) {
+                return;
+            }
+        }
+        snapshot(true);
+    }
+
+    // Caller holds appendLock
+    private boolean snapshotDue() {
+        int interval = snapshotInterval;
+        return interval > 0 && lastSequence - snapshotSequence >= interval;
+    }
+
+    /**
+     * Write a snapshot of the current graph, start a fresh log and drop the files
+     * older than the previous snapshot
+     */
+    public void snapshot() throws IOException {
+        snapshot(false);
+    }
+
+    private void snapshot(boolean onlyIfDue) throws IOException {
+        synchronized (snapshotLock) {
+            long seq;
+            GraphCopy copy;
+            synchronized (flushLock) {
+                FileChannel finished = null;
+                synchronized (appendLock) {
+                    if (onlyIfDue && !snapshotDue()) {
+                        return;
+                    }
+                    // Cut the log at seq and copy the graph; writers only wait for the copy
+                    seq = lastSequence;
+                    writePending();
+                    if (seq != logSequence) {
+                        finished = channel;
+                        openLog(seq, true);
+                    }
+                    copy = copyGraph();
+                }
+                if (finished != null) {
+                    finished.force(false);
+                    finished.close();
+                    durableSequence = Math.max(durableSequence, seq);
+                }
+            }
+
+            writeSnapshot(seq, copy);
+            long previous;
+            synchronized (appendLock) {
+                previous = snapshotSequence;
+                snapshotSequence = seq;
+            }
+            deleteOlderThan(previous);
+        }
+    }
+
+    private void openLog(long baseSequence, boolean truncate) throws IOException {
+        Path file = directory.resolve("log-" + baseSequence + ".wal");
+        logSequence = baseSequence;
+        if (truncate) {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } else {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+    }
+
+    /**
+     * Replay the log behind the loaded snapshot, then every log that starts where the
+     * previous one ended (the logs of snapshots that could not be read)
+     */
+    private void replay() throws IOException {
+        long baseSequence = snapshotSequence;
+        long validBytes = replayLog(baseSequence);
+        while (lastSequence != baseSequence
+                && Files.exists(directory.resolve("log-" + lastSequence + ".wal"))) {
+            baseSequence = lastSequence;
+            validBytes = replayLog(baseSequence);
+        }
+
+        // Anything newer on disk means mutations that no log here can replay
+        long newest = lastSequence;
+        for (long s : listSequences(directory, "snapshot-", ".bin")) {
+            newest = Math.max(newest, s);
+        }
+        for (long s : listSequences(directory, "log-", ".wal")) {
+            newest = Math.max(newest, s);
+        }
+        if (newest > lastSequence) {
+            IOException e = new IOException("Logs end at mutation " + lastSequence
+                    + " but files up to mutation " + newest + " exist in " + directory);
+            skippedSnapshots.forEach(s -> e.addSuppressed(new IOException("Unreadable snapshot " + s)));
+            throw e;
+        }
+
+        openLog(baseSequence, false);
+        channel.truncate(validBytes);
+        channel.position(validBytes);
+        pendingSequence = lastSequence;
+        durableSequence = lastSequence;
+    }
+
+    /**
+     * Apply the valid records of one log; returns the number of valid bytes
+     */
+    private long replayLog(long baseSequence) throws IOException {
+        Path file = directory.resolve("log-" + baseSequence + ".wal");
+        long validBytes = 0;
+        if (Files.exists(file)) {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+                CRC32 crc = new CRC32();
+                while (true) {
+                    record.clear();
+                    while (record.hasRemaining() && in.read(record) > 0) {
+                        // keep reading until the record is complete or the file ends
+                    }
+                    if (record.hasRemaining()) {
+                        break; // torn tail
+                    }
+                    crc.reset();
+                    crc.update(record.array(), 0, RECORD_BYTES - 4);
+                    record.flip();
+                    byte op = record.get();
+                    long seq = record.getLong();
+                    int u = record.getInt();
+                    int v = record.getInt();
+                    int w = record.getInt();
+                    if (record.getInt() != (int) crc.getValue() || seq != lastSequence + 1 || !apply(op, u, v, w)) {
+                        break;
+                    }
+                    lastSequence = seq;
+                    validBytes += RECORD_BYTES;
+                    replayed++;
+                }
+            }
+        }
+        return validBytes;
+    }
+
+    private boolean apply(byte op, int u, int v, int w) {
+        if (u < 0 || v < 0 || u >= graph.getN() || v >= graph.getN()) {
+            return false;
+        }
+        switch (op) {
+            case ADD_EDGE:
+                graph.addEdge(u, v, w);
+                return true;
+            case REMOVE_EDGE:
+                return graph.removeEdge(u, v) != null;
+            case SET_WEIGHT:
+                return graph.setEdgeWeight(u, v, w);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Flat copy of the graph taken under appendLock, written out after the lock is released
+     */
+    private static final class GraphCopy {
+        int n;
+        boolean directed;
+        int source;
+        String weightModel;
+        int[] offsets;
+        int[] targets;
+        int[] weights;
+    }
+
+    private GraphCopy copyGraph() {
+        GraphCopy copy = new GraphCopy();
+        int n = graph.getN();
+        copy.n = n;
+        copy.directed = graph.isDirected();
+        copy.source = graph.getSource();
+        copy.weightModel = graph.getWeightModel();
+        copy.offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            copy.offsets[u + 1] = copy.offsets[u] + graph.getAdjList()[u].size();
+        }
+        copy.targets = new int[copy.offsets[n]];
+        copy.weights = new int[copy.offsets[n]];
+        for (int u = 0, e = 0; u < n; u++) {
+            for (Edge edge : graph.getAdjList()[u]) {
+                copy.targets[e] = edge.to;
+                copy.weights[e++] = edge.weight;
+            }
+        }
+        return copy;
+    }
+
+    private void writeSnapshot(long seq, GraphCopy copy) throws IOException {
+        Path temp = Files.createTempFile(directory, "snapshot-", ".tmp");
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new java.util.zip.CheckedOutputStream(Files.newOutputStream(temp), crc)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(seq);
+            out.writeInt(copy.n);
+            out.writeBoolean(copy.directed);
+            out.writeInt(copy.source);
+            out.writeUTF(copy.weightModel == null ? "" : copy.weightModel);
+            for (int u = 0; u < copy.n; u++) {
+                out.writeInt(copy.offsets[u + 1] - copy.offsets[u]);
+                for (int e = copy.offsets[u]; e < copy.offsets[u + 1]; e++) {
+                    out.writeInt(copy.targets[e]);
+                    out.writeInt(copy.weights[e]);
+                }
+            }
+            out.flush();
+            out.writeLong(crc.getValue());
+        }
+        try (FileChannel c = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            c.force(true);
+        }
+        Files.move(temp, directory.resolve("snapshot-" + seq + ".bin"),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Graph readSnapshot(Path file, long expectedSeq) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < Long.BYTES) {
+            throw new IOException("Truncated snapshot");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Long.BYTES);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readLong() != expectedSeq) {
+            throw new IOException("Bad snapshot header");
+        }
+        int n = in.readInt();
+        if (n < 0) {
+            throw new IOException("Bad vertex count");
+        }
+        Graph g = new Graph(n, in.readBoolean());
+        g.setSource(in.readInt());
+        String weightModel = in.readUTF();
+        g.setWeightModel(weightModel.isEmpty() ? null : weightModel);
+        for (int u = 0; u < n; u++) {
+            int degree = in.readInt();
+            if (degree < 0 || degree > in.available() / 8) {
+                throw new IOException("Bad degree for vertex " + u);
+            }
+            for (int i = 0; i < degree; i++) {
+                int to = in.readInt();
+                int weight = in.readInt();
+                if (to < 0 || to >= n) {
+                    throw new IOException("Bad edge target " + to);
+                }
+                g.addArc(u, to, weight);
+            }
+        }
+        if (in.readLong() != crc.getValue() || in.read() != -1) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        return g;
+    }
+
+    private void deleteOlderThan(long seq) throws IOException {
+        for (long s : listSequences(directory, "snapshot-", ".bin")) {
+            if (s < seq) {
+                Files.deleteIfExists(directory.resolve("snapshot-" + s + ".bin"));
+            }
+        }
+        for (long s : listSequences(directory, "log-", ".wal")) {
+            if (s < seq) {
+                Files.deleteIfExists(directory.resolve("log-" + s + ".wal"));
+            }
+        }
+    }
+
+    private static void deleteMatching(Path dir, String glob) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, glob)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static List<Long> listSequences(Path dir, String prefix, String suffix) throws IOException {
+        List<Long> result = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return result;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix + "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    result.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours
+                }
+            }
+        }
+        return result;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public long getLastSequence() {
+        synchronized (appendLock) {
+            return lastSequence;
+        }
+    }
+
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Number of log records replayed by recover()
+     */
+    public int getReplayedCount() {
+        return replayed;
+    }
+
+    /**
+     * Snapshots recover() could not read and recovered past through the logs, newest first
+     */
+    public List<Long> getSkippedSnapshots() {
+        return Collections.unmodifiableList(skippedSnapshots);
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        channel.close();
+    }
+}
@@ -0,0 +1,307 @@
+package graph.util;
+
+import graph.Graph;
+import graph.Graph.Edge;
+
+import java.io.*;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+
+/**
+ * Persistent cache of analysis results, keyed by a SHA-256 hash of the graph contents.
+ * Each entry is one binary file: a header, the arrays, and a trailing CRC32.
+ * A file that fails any check, including arrays whose shape does not fit the
+ * graph, is deleted and reported as a miss, so the caller simply recomputes.
+ */
+public class ResultCache {
+    private static final int MAGIC = 0x47524331; // "GRC1"
+    private static final int VERSION = 3;
+
+    private final Path directory;
+
+    /**
+     * Everything derived from one graph. Arrays that were not computed are null.
+     */
+    public static class Entry {
+        // SCCs: component c is componentMembers[componentOffsets[c] .. componentOffsets[c + 1]]
+        public int[] nodeToComponent;
+        public int[] componentOffsets;
+        public int[] componentMembers;
+
+        // Condensation in CSR form
+        public int[] condensationOffsets;
+        public int[] condensationTargets;
+        public int[] condensationWeights;
+
+        // Topological order of the condensation
+        public int[] topoOrder;
+        public boolean isDAG;
+
+        // DAG paths, only present when the original graph is acyclic
+        public int[] shortestDistances;
+        public int[] shortestParents;
+        public int[] criticalPath;
+        public int criticalLength;
+
+        // Counters and timings of the run that produced the entry
+        public Map<String, Double> metrics = new LinkedHashMap<>();
+    }
+
+    public ResultCache(String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Hash of everything that influences the results: size, flags, source and every edge in order
+     */
+    public static String key(Graph g) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(g.getN());
+            out.writeBoolean(g.isDirected());
+            out.writeInt(g.getSource());
+            out.writeUTF(String.valueOf(g.getWeightModel()));
+            for (int u = 0; u < g.getN(); u++) {
+                out.writeInt(g.getAdjList()[u].size());
+                for (Edge edge : g.getAdjList()[u]) {
+                    out.writeInt(edge.to);
+                    out.writeInt(edge.weight);
+                }
+                // Flush periodically so large graphs are hashed in bounded memory
+                if (bytes.size() > 1 << 16) {
+                    digest.update(bytes.toByteArray());
+                    bytes.reset();
+                }
+            }
+            out.flush();
+            digest.update(bytes.toByteArray());
+
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("Cannot hash graph", e);
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + ".bin");
+    }
+
+    /**
+     * Load a cached entry for a graph with n vertices, or null on a miss or a corrupt file
+     */
+    public Entry load(String key, int n) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            if (bytes.length < Long.BYTES) {
+                throw new IOException("Truncated file");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - Long.BYTES);
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(key)) {
+                throw new IOException("Bad header");
+            }
+
+            Entry entry = new Entry();
+            entry.nodeToComponent = readArray(in);
+            entry.componentOffsets = readArray(in);
+            entry.componentMembers = readArray(in);
+            entry.condensationOffsets = readArray(in);
+            entry.condensationTargets = readArray(in);
+            entry.condensationWeights = readArray(in);
+            entry.topoOrder = readArray(in);
+            entry.isDAG = in.readBoolean();
+            entry.shortestDistances = readArray(in);
+            entry.shortestParents = readArray(in);
+            entry.criticalPath = readArray(in);
+            entry.criticalLength = in.readInt();
+            int metricCount = in.readInt();
+            for (int i = 0; i < metricCount; i++) {
+                entry.metrics.put(in.readUTF(), in.readDouble());
+            }
+
+            if (in.readLong() != crc.getValue() || in.read() != -1) {
+                throw new IOException("Checksum mismatch");
+            }
+            validate(entry, n);
+            return entry;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Discarding corrupt cache entry " + file + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // A stale file is recomputed again next time
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Store an entry. The file is written to a temporary name and moved into place,
+     * so readers never see a half-written entry.
+     */
+    public void store(String key, Entry entry) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new CheckedOutputStream(Files.newOutputStream(temp), crc)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(key);
+            writeArray(out, entry.nodeToComponent);
+            writeArray(out, entry.componentOffsets);
+            writeArray(out, entry.componentMembers);
+            writeArray(out, entry.condensationOffsets);
+            writeArray(out, entry.condensationTargets);
+            writeArray(out, entry.condensationWeights);
+            writeArray(out, entry.topoOrder);
+            out.writeBoolean(entry.isDAG);
+            writeArray(out, entry.shortestDistances);
+            writeArray(out, entry.shortestParents);
+            writeArray(out, entry.criticalPath);
+            out.writeInt(entry.criticalLength);
+            out.writeInt(entry.metrics.size());
+            for (Map.Entry<String, Double> metric : entry.metrics.entrySet()) {
+                out.writeUTF(metric.getKey());
+                out.writeDouble(metric.getValue());
+            }
+            // The checksum covers everything written so far
+            out.flush();
+            out.writeLong(crc.getValue());
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, fileFor(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Check that the arrays describe a graph with n vertices, so a stale or foreign
+     * entry cannot pass as a result
+     */
+    private static void validate(Entry entry, int n) throws IOException {
+        if (entry.nodeToComponent == null || entry.nodeToComponent.length != n) {
+            throw new IOException("Component map does not match " + n + " vertices");
+        }
+        int k = checkOffsets(entry.componentOffsets, entry.componentMembers, "component");
+        if (entry.componentMembers.length != n || !isPermutation(entry.componentMembers, n)) {
+            throw new IOException("Component members are not a partition of the vertices");
+        }
+        for (int c = 0; c < k; c++) {
+            for (int i = entry.componentOffsets[c]; i < entry.componentOffsets[c + 1]; i++) {
+                if (entry.nodeToComponent[entry.componentMembers[i]] != c) {
+                    throw new IOException("Component map disagrees with component members");
+                }
+            }
+        }
+        if (checkOffsets(entry.condensationOffsets, entry.condensationTargets, "condensation") != k
+                || entry.condensationWeights == null
+                || entry.condensationWeights.length != entry.condensationTargets.length) {
+            throw new IOException("Condensation does not match " + k + " components");
+        }
+        for (int target : entry.condensationTargets) {
+            if (target < 0 || target >= k) {
+                throw new IOException("Condensation edge to unknown component " + target);
+            }
+        }
+        if (entry.topoOrder == null || (entry.isDAG && !isPermutation(entry.topoOrder, k))) {
+            throw new IOException("Topological order is not a permutation of the components");
+        }
+        if (entry.shortestDistances != null) {
+            if (entry.shortestDistances.length != n || entry.shortestParents == null
+                    || entry.shortestParents.length != n || entry.criticalPath == null) {
+                throw new IOException("Path arrays do not match " + n + " vertices");
+            }
+            for (int v : entry.criticalPath) {
+                if (v < 0 || v >= n) {
+                    throw new IOException("Critical path vertex out of range " + v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of rows described by a CSR offsets array over values; throws if it is malformed
+     */
+    private static int checkOffsets(int[] offsets, int[] values, String name) throws IOException {
+        if (offsets == null || values == null || offsets.length == 0 || offsets[0] != 0
+                || offsets[offsets.length - 1] != values.length) {
+            throw new IOException("Malformed " + name + " offsets");
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            if (offsets[i] < offsets[i - 1]) {
+                throw new IOException("Malformed " + name + " offsets");
+            }
+        }
+        return offsets.length - 1;
+    }
+
+    private static boolean isPermutation(int[] values, int size) {
+        if (values.length != size) {
+            return false;
+        }
+        boolean[] seen = new boolean[size];
+        for (int value : values) {
+            if (value < 0 || value >= size || seen[value]) {
+                return false;
+            }
+            seen[value] = true;
+        }
+        return true;
+    }
+
+    // Arrays are stored as a length (-1 for null) followed by the values
+    private static void writeArray(DataOutputStream out, int[] values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readArray(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > in.available() / Integer.BYTES) {
+            throw new IOException("Invalid array length " + length);
+        }
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    public static int[] toArray(List<Integer> list) {
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,264 @@
+package graph.util;
+
+import graph.scc.ComponentResult;
+import graph.scc.SCCVisitor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+
+/**
+ * Streaming writer for components, orders, distance arrays and paths.
+ * Numbers are encoded straight into one fixed-size buffer that is flushed to a
+ * FileChannel whenever it fills up, so memory stays bounded by the buffer no
+ * matter how large the graph is.
+ *
+ * NDJSON writes one JSON object per line. BINARY writes records as
+ * [tag byte][name][int count][ints...], little-endian, with names as
+ * [int length][UTF-8 bytes]. Component records carry their id before the count,
+ * and path records start their values with the path length.
+ */
+public class ResultWriter implements AutoCloseable {
+
+    public enum Format { NDJSON, BINARY }
+
+    // Binary record tags
+    public static final byte COMPONENT = 1;
+    public static final byte ORDER = 2;
+    public static final byte DISTANCES = 3;
+    public static final byte PATH = 4;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final Format format;
+    private long bytesWritten;
+
+    public ResultWriter(String filepath, Format format) throws IOException {
+        this.channel = FileChannel.open(Paths.get(filepath),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.format = format;
+    }
+
+    /**
+     * Every component, streamed from the primitive offsets/members arrays
+     */
+    public void writeComponents(ComponentResult components) throws IOException {
+        int[] offsets = components.getOffsets();
+        int[] members = components.getMembers();
+        for (int c = 0; c < components.getComponentCount(); c++) {
+            writeComponent(c, members, offsets[c], offsets[c + 1]);
+        }
+    }
+
+    /**
+     * One component given as a primitive slice members[from .. to)
+     */
+    public void writeComponent(int id, int[] members, int from, int to) throws IOException {
+        beginRecord(COMPONENT, "component", id, to - from);
+        for (int i = from; i < to; i++) {
+            value(i - from, members[i]);
+        }
+        endRecord();
+    }
+
+    /**
+     * Visitor that writes each streamed component as soon as it is found.
+     * Write failures surface as UncheckedIOException from the SCC run.
+     */
+    public SCCVisitor componentVisitor() {
+        return (id, members, from, to) -> {
+            try {
+                writeComponent(id, members, from, to);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    public void writeOrder(String name, List<Integer> order) throws IOException {
+        beginRecord(ORDER, name, -1, order.size());
+        for (int i = 0; i < order.size(); i++) {
+            value(i, order.get(i));
+        }
+        endRecord();
+    }
+
+    /**
+     * Distance array; entries equal to unreachable are written as null (NDJSON)
+     * or kept as-is (BINARY)
+     */
+    public void writeDistances(String name, int[] dist, int unreachable) throws IOException {
+        beginRecord(DISTANCES, name, -1, dist.length);
+        for (int i = 0; i < dist.length; i++) {
+            if (format == Format.NDJSON && dist[i] == unreachable) {
+                if (i > 0) {
+                    put((byte) ',');
+                }
+                ascii("null");
+            } else {
+                value(i, dist[i]);
+            }
+        }
+        endRecord();
+    }
+
+    public void writePath(String name, List<Integer> path, int length) throws IOException {
+        if (format == Format.BINARY) {
+            beginRecord(PATH, name, -1, path.size() + 1);
+            putInt(length);
+        } else {
+            ascii("{\"type\":\"path\",\"name\":");
+            string(name);
+            ascii(",\"length\":");
+            number(length);
+            ascii(",\"values\":[");
+        }
+        for (int i = 0; i < path.size(); i++) {
+            value(i, path.get(i));
+        }
+        endRecord();
+    }
+
+    private void beginRecord(byte tag, String name, int id, int count) throws IOException {
+        if (format == Format.BINARY) {
+            ensure(1);
+            buffer.put(tag);
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            for (byte b : bytes) {
+                put(b);
+            }
+            if (tag == COMPONENT) {
+                putInt(id);
+            }
+            putInt(count);
+            return;
+        }
+
+        ascii("{\"type\":\"");
+        ascii(tag == COMPONENT ? "component" : tag == ORDER ? "order" : "distances");
+        ascii("\"");
+        if (tag == COMPONENT) {
+            ascii(",\"id\":");
+            number(id);
+        } else {
+            ascii(",\"name\":");
+            string(name);
+        }
+        ascii(",\"values\":[");
+    }
+
+    private void value(int index, int v) throws IOException {
+        if (format == Format.BINARY) {
+            putInt(v);
+            return;
+        }
+        if (index > 0) {
+            put((byte) ',');
+        }
+        number(v);
+    }
+
+    private void endRecord() throws IOException {
+        if (format == Format.NDJSON) {
+            ascii("]}\n");
+        }
+    }
+
+    private void putInt(int v) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(v);
+    }
+
+    private void put(byte b) throws IOException {
+        ensure(1);
+        buffer.put(b);
+    }
+
+    private void ascii(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            put((byte) s.charAt(i));
+        }
+    }
+
+    private void string(String s) throws IOException {
+        put((byte) '"');
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            if (b == '"' || b == '\\') {
+                put((byte) '\\');
+                put(b);
+            } else if (b == '\n') {
+                ascii("\\n");
+            } else if (b == '\r') {
+                ascii("\\r");
+            } else if (b == '\t') {
+                ascii("\\t");
+            } else if (b >= 0 && b < 0x20) {
+                // Other control characters; bytes of multi-byte UTF-8 sequences are negative here
+                ascii(String.format("\\u%04x", b));
+            } else {
+                put(b);
+            }
+        }
+        put((byte) '"');
+    }
+
+    /**
+     * Decimal encoding without creating a String
+     */
+    private void number(int v) throws IOException {
+        ensure(11);
+        if (v == Integer.MIN_VALUE) {
+            ascii("-2147483648");
+            return;
+        }
+        if (v < 0) {
+            buffer.put((byte) '-');
+            v = -v;
+        }
+        int divisor = 1;
+        while (v / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            buffer.put((byte) ('0' + v / divisor % 10));
+            divisor /= 10;
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package graph.util;
+
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class MutationLogTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void createReplacesPreviousState() throws IOException {
+        try (MutationLog log = MutationLog.create(dir.toString(), new Graph(10, true))) {
+            for (int i = 0; i < 5; i++) {
+                log.addEdge(i, i + 1, 1);
+            }
+            log.snapshot();
+        }
+
+        try (MutationLog log = MutationLog.create(dir.toString(), new Graph(10, true))) {
+            log.addEdge(1, 2, 7);
+            log.sync();
+        }
+
+        try (MutationLog log = MutationLog.recover(dir.toString())) {
+            assertEquals(1, log.getLastSequence());
+            assertEquals(1, log.getGraph().getEdgeCount());
+            assertEquals(7, log.getGraph().findEdge(1, 2).weight);
+        }
+    }
+
+    @Test
+    void recoversPastUnreadableSnapshotThroughTheLogs() throws IOException {
+        try (MutationLog log = MutationLog.create(dir.toString(), new Graph(10, true))) {
+            log.addEdge(0, 1, 1);
+            log.addEdge(1, 2, 2);
+            log.snapshot();
+            log.addEdge(2, 3, 3);
+            log.setEdgeWeight(0, 1, 4);
+        }
+        Files.write(dir.resolve("snapshot-2.bin"), new byte[]{1, 2, 3});
+
+        try (MutationLog log = MutationLog.recover(dir.toString())) {
+            assertEquals(Collections.singletonList(2L), log.getSkippedSnapshots());
+            assertEquals(4, log.getLastSequence());
+            assertEquals(3, log.getGraph().getEdgeCount());
+            assertEquals(4, log.getGraph().findEdge(0, 1).weight);
+            log.addEdge(3, 4, 5);
+        }
+
+        try (MutationLog log = MutationLog.recover(dir.toString())) {
+            assertEquals(5, log.getLastSequence());
+            assertNotNull(log.getGraph().findEdge(3, 4));
+        }
+    }
+
+    @Test
+    void failsWhenTheLogsDoNotReachTheNewestFiles() throws IOException {
+        try (MutationLog log = MutationLog.create(dir.toString(), new Graph(10, true))) {
+            log.addEdge(0, 1, 1);
+            log.snapshot();
+            log.addEdge(1, 2, 2);
+            log.snapshot();
+            log.addEdge(2, 3, 3);
+        }
+        // Snapshot 2 is unreadable and the log from snapshot 1 to 2 is gone
+        Files.write(dir.resolve("snapshot-2.bin"), new byte[]{1, 2, 3});
+        Files.delete(dir.resolve("log-1.wal"));
+
+        assertThrows(IOException.class, () -> MutationLog.recover(dir.toString()));
+    }
+
+    @Test
+    void rejectedMutationIsNotLogged() throws IOException {
+        try (MutationLog log = MutationLog.create(dir.toString(), new Graph(3, true))) {
+            assertThrows(IllegalArgumentException.class, () -> log.addEdge(0, 5, 1));
+            assertFalse(log.removeEdge(0, 1));
+            log.addEdge(0, 1, 1);
+        }
+
+        try (MutationLog log = MutationLog.recover(dir.toString())) {
+            assertEquals(1, log.getLastSequence());
+            assertEquals(1, log.getGraph().getEdgeCount());
+        }
+    }
+}